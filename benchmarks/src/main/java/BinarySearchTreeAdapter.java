@@ -0,0 +1,53 @@
+import bench.TreeTarget;
+
+/**
+ * BinarySearchTreeAdapter class exposes BinarySearchTree to the benchmarks.
+ */
+public class BinarySearchTreeAdapter implements TreeTarget {
+	private BinarySearchTree<Integer> tree;
+
+	@Override
+	public void init(int capacity) {
+		tree = new BinarySearchTree<>();
+	}
+
+	@Override
+	public void add(int key) {
+		tree.add(key);
+	}
+
+	@Override
+	public boolean contains(int key) {
+		return tree.contains(key);
+	}
+
+	@Override
+	public void remove(int key) {
+		tree.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		tree.clear();
+	}
+
+	@Override
+	public int summary() {
+		return tree.height();
+	}
+
+	@Override
+	public int height() {
+		return tree.height();
+	}
+
+	@Override
+	public int inorder() {
+		int visited = 0;
+		tree.reset(0);
+		while (tree.getNext(0) != null) {
+			visited++;
+		}
+		return visited;
+	}
+}
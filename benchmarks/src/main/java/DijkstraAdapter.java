@@ -0,0 +1,34 @@
+import java.util.Random;
+
+import bench.ShortestPathTarget;
+
+/**
+ * DijkstraAdapter class exposes the DijkstraAlgorithm engines to the benchmarks.
+ */
+public class DijkstraAdapter implements ShortestPathTarget {
+	private CityGraph graph; // List-based form of the network
+	private CompactCityGraph compact; // Compact form of the same network
+
+	@Override
+	public void load(int numVertices, boolean grid, long seed) {
+		Random random = new Random(seed);
+		graph = grid ? MainShortestPathBenchmark.shuffledGrid((int) Math.sqrt(numVertices), random)
+				: MainShortestPathBenchmark.randomGraph(numVertices, random);
+		compact = new CompactCityGraph(graph);
+	}
+
+	@Override
+	public int[] dijkstra() {
+		return DijkstraAlgorithm.dijkstra(graph, 0);
+	}
+
+	@Override
+	public int[] dijkstraHeap() {
+		return DijkstraAlgorithm.dijkstraHeap(graph, 0);
+	}
+
+	@Override
+	public int[] dijkstraCompact() {
+		return DijkstraAlgorithm.dijkstraHeap(compact, 0);
+	}
+}
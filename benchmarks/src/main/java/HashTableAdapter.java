@@ -0,0 +1,57 @@
+import bench.IntSet;
+
+/**
+ * HashTableAdapter class exposes HashTableSC to the benchmarks, keyed by
+ * student ID. The bucket count is odd so that even IDs still spread over every
+ * bucket under SimpleHashFunction. One Student per ID is created up front, so
+ * the measured allocation is that of the table itself; this also lets remove
+ * work, since HashTableSC.remove matches the very same object.
+ */
+public class HashTableAdapter implements IntSet {
+	private HashTableSC<Student> table;
+	private Student[] students; // Student of each ID the benchmarks use
+
+	@Override
+	public void init(int capacity) {
+		table = new HashTableSC<>(new SimpleHashFunction(), capacity | 1);
+		students = new Student[2 * capacity + 2]; // Keys are below 2 * capacity, probes one above
+		for (int id = 0; id < students.length; id++) {
+			students[id] = new Student(id, "");
+		}
+	}
+
+	@Override
+	public void add(int key) {
+		table.add(student(key)); // Replaces any student with the same ID
+	}
+
+	@Override
+	public boolean contains(int key) {
+		return table.contains(student(key));
+	}
+
+	@Override
+	public void remove(int key) {
+		table.remove(student(key));
+	}
+
+	@Override
+	public void clear() {
+		table.clear();
+	}
+
+	@Override
+	public int summary() {
+		return table.contains(students[0]) ? 1 : 0;
+	}
+
+	/**
+	 * Gets the student with the given ID.
+	 *
+	 * @param id the ID
+	 * @return the shared student, or a new one for IDs out of range
+	 */
+	private Student student(int id) {
+		return id >= 0 && id < students.length ? students[id] : new Student(id, "");
+	}
+}
@@ -0,0 +1,36 @@
+import bench.MaxHeapTarget;
+
+/**
+ * MaxHeapAdapter class exposes MainMaxHeap to the benchmarks.
+ */
+public class MaxHeapAdapter implements MaxHeapTarget {
+	private static final int[] EMPTY = new int[0];
+
+	private MainMaxHeap heap;
+
+	@Override
+	public void init(int capacity) {
+		heap = new MainMaxHeap(capacity);
+	}
+
+	@Override
+	public void buildHeapify(int[] values) {
+		heap.buildHeapify(values);
+	}
+
+	@Override
+	public void buildOneByOne(int[] values) {
+		heap.buildHeapify(EMPTY); // Empties the heap, MainMaxHeap has no clear
+		heap.buildOneByOne(values);
+	}
+
+	@Override
+	public void heapSort() {
+		heap.heapSort();
+	}
+
+	@Override
+	public int getMax() {
+		return heap.getMax();
+	}
+}
@@ -0,0 +1,171 @@
+import java.util.ArrayList;
+
+/**
+ * Recursive baseline of the tree benchmarks: the methods of BinarySearchTree
+ * that the benchmarks compare, as they were before they were made iterative.
+ * Nodes keep their subtree counts, so add and remove do the same bookkeeping
+ * as in the iterative tree.
+ *
+ * @param <T> the type of elements in the tree, must extend Comparable
+ */
+public class RecursiveBinarySearchTree<T extends Comparable<T>> {
+    /**
+     * Represents a node in the binary search tree.
+     */
+    private class Node {
+        T data;
+        Node left, right;
+        int count; // Number of nodes in the subtree rooted at this node
+
+        Node(T data) {
+            this.data = data;
+            this.count = 1;
+        }
+    }
+
+    private Node root;
+    private final ArrayList<T> traversalList = new ArrayList<>();
+    private int current = -1;
+
+    private int count(Node node) {
+        return node == null ? 0 : node.count; // Size of the tree rooted at this node
+    }
+
+    private void updateCount(Node node) {
+        node.count = 1 + count(node.left) + count(node.right);
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Adds an element, keeping a single copy of elements already present.
+     *
+     * @param element the element to add
+     */
+    public void add(T element) {
+        root = addRecursive(root, element);
+    }
+
+    private Node addRecursive(Node current, T element) {
+        if (current == null) {
+            return new Node(element);
+        }
+        if (element.compareTo(current.data) < 0) {
+            current.left = addRecursive(current.left, element);
+        } else if (element.compareTo(current.data) > 0) {
+            current.right = addRecursive(current.right, element);
+        } else {
+            return current; // Value already exists
+        }
+        updateCount(current); // One more node below
+        return current;
+    }
+
+    /**
+     * Checks if an element is in the tree.
+     *
+     * @param element the element to look up
+     * @return true if the element is present
+     */
+    public boolean contains(T element) {
+        return containsRecursive(root, element);
+    }
+
+    private boolean containsRecursive(Node current, T element) {
+        if (current == null) {
+            return false;
+        }
+        if (element.compareTo(current.data) == 0) {
+            return true;
+        }
+        return element.compareTo(current.data) < 0
+            ? containsRecursive(current.left, element)
+            : containsRecursive(current.right, element);
+    }
+
+    /**
+     * Removes an element if it is present.
+     *
+     * @param element the element to remove
+     */
+    public void remove(T element) {
+        root = removeRecursive(root, element);
+    }
+
+    private Node removeRecursive(Node current, T element) {
+        if (current == null) {
+            return null; // Element not found
+        }
+        if (element.compareTo(current.data) == 0) {
+            if (current.right == null) {
+                return current.left; // At most a left child
+            }
+            if (current.left == null) {
+                return current.right; // Only a right child
+            }
+            T smallestValue = findSmallestValue(current.right); // Successor replaces the element
+            current.data = smallestValue;
+            current.right = removeRecursive(current.right, smallestValue);
+        } else if (element.compareTo(current.data) < 0) {
+            current.left = removeRecursive(current.left, element);
+        } else {
+            current.right = removeRecursive(current.right, element);
+        }
+        updateCount(current); // The subtree may have lost a node
+        return current;
+    }
+
+    private T findSmallestValue(Node root) {
+        return root.left == null ? root.data : findSmallestValue(root.left);
+    }
+
+    /**
+     * Collects the elements in inorder for getNext.
+     */
+    public void reset() {
+        traversalList.clear();
+        current = 0;
+        collectInorder(root);
+    }
+
+    private void collectInorder(Node node) {
+        if (node != null) {
+            collectInorder(node.left);
+            traversalList.add(node.data);
+            collectInorder(node.right);
+        }
+    }
+
+    /**
+     * Gets the next element of the traversal started by reset.
+     *
+     * @return the next element, or null past the last one
+     */
+    public T getNext() {
+        if (current >= 0 && current < traversalList.size()) {
+            return traversalList.get(current++);
+        }
+        return null;
+    }
+
+    /**
+     * Calculates the height of the tree.
+     *
+     * @return the height of the tree
+     */
+    public int height() {
+        return height(root);
+    }
+
+    private int height(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return Math.max(height(node.left), height(node.right)) + 1;
+    }
+}
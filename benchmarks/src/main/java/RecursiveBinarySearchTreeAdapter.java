@@ -0,0 +1,54 @@
+import bench.TreeTarget;
+
+/**
+ * RecursiveBinarySearchTreeAdapter class exposes the recursive baseline tree to
+ * the benchmarks.
+ */
+public class RecursiveBinarySearchTreeAdapter implements TreeTarget {
+	private RecursiveBinarySearchTree<Integer> tree;
+
+	@Override
+	public void init(int capacity) {
+		tree = new RecursiveBinarySearchTree<>();
+	}
+
+	@Override
+	public void add(int key) {
+		tree.add(key);
+	}
+
+	@Override
+	public boolean contains(int key) {
+		return tree.contains(key);
+	}
+
+	@Override
+	public void remove(int key) {
+		tree.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		tree.clear();
+	}
+
+	@Override
+	public int summary() {
+		return tree.height();
+	}
+
+	@Override
+	public int height() {
+		return tree.height();
+	}
+
+	@Override
+	public int inorder() {
+		int visited = 0;
+		tree.reset();
+		while (tree.getNext() != null) {
+			visited++;
+		}
+		return visited;
+	}
+}
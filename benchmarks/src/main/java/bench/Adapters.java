@@ -0,0 +1,29 @@
+package bench;
+
+/**
+ * Adapters class loads the default-package adapters that expose the data
+ * structures to the benchmarks. Classes in the default package cannot be
+ * imported from a named package, so each adapter implements an interface of
+ * this package and is created by name once, when a benchmark is set up.
+ */
+final class Adapters {
+
+	private Adapters() {
+	}
+
+	/**
+	 * Creates an adapter by class name.
+	 *
+	 * @param className the name of the adapter class in the default package
+	 * @param type      the interface the adapter implements
+	 * @return a new adapter
+	 * @throws IllegalStateException if the adapter cannot be created
+	 */
+	static <T> T load(String className, Class<T> type) {
+		try {
+			return Class.forName(className).asSubclass(type).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create adapter " + className, e);
+		}
+	}
+}
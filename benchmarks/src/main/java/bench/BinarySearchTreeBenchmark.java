@@ -0,0 +1,16 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * BinarySearchTreeBenchmark class runs the set benchmarks on BinarySearchTree.
+ */
+@State(Scope.Thread)
+public class BinarySearchTreeBenchmark extends IntSetBenchmark {
+
+	@Override
+	protected String adapter() {
+		return "BinarySearchTreeAdapter";
+	}
+}
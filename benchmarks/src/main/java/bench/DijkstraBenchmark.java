@@ -0,0 +1,75 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DijkstraBenchmark class times a full single-source search with the original
+ * array-scanning DijkstraAlgorithm.dijkstra and with the heap-based engine over
+ * the list-based and the compact graph.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DijkstraBenchmark {
+	private static final long SEED = 42; // Fixed so every run sees the same network
+
+	@Param({ "1000", "10000" })
+	public int size;
+
+	@Param({ "RANDOM", "GRID" })
+	public String network;
+
+	private ShortestPathTarget engines;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		engines = Adapters.load("DijkstraAdapter", ShortestPathTarget.class);
+		engines.load(size, network.equals("GRID"), SEED);
+	}
+
+	/**
+	 * Runs the original O(V^2) search.
+	 *
+	 * @return the shortest distances
+	 */
+	@Benchmark
+	public int[] dijkstra() {
+		return engines.dijkstra();
+	}
+
+	/**
+	 * Runs the heap-based search over the list-based graph.
+	 *
+	 * @return the shortest distances
+	 */
+	@Benchmark
+	public int[] dijkstraHeap() {
+		return engines.dijkstraHeap();
+	}
+
+	/**
+	 * Runs the heap-based search over the compact graph.
+	 *
+	 * @return the shortest distances
+	 */
+	@Benchmark
+	public int[] dijkstraCompact() {
+		return engines.dijkstraCompact();
+	}
+}
@@ -0,0 +1,17 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * HashTableBenchmark class runs the set benchmarks on HashTableSC, with about
+ * as many buckets as keys.
+ */
+@State(Scope.Thread)
+public class HashTableBenchmark extends IntSetBenchmark {
+
+	@Override
+	protected String adapter() {
+		return "HashTableAdapter";
+	}
+}
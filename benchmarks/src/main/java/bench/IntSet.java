@@ -0,0 +1,50 @@
+package bench;
+
+/**
+ * IntSet interface is the view of a set of int keys shared by the tree and hash
+ * table benchmarks.
+ */
+public interface IntSet {
+
+	/**
+	 * Creates the empty structure.
+	 *
+	 * @param capacity the number of keys it is expected to hold
+	 */
+	void init(int capacity);
+
+	/**
+	 * Adds a key, keeping a single copy of keys already present.
+	 *
+	 * @param key the key to add
+	 */
+	void add(int key);
+
+	/**
+	 * Checks if a key is present.
+	 *
+	 * @param key the key to look up
+	 * @return true if the key is present, false otherwise
+	 */
+	boolean contains(int key);
+
+	/**
+	 * Removes a key if it is present.
+	 *
+	 * @param key the key to remove
+	 */
+	void remove(int key);
+
+	/**
+	 * Removes all keys.
+	 */
+	void clear();
+
+	/**
+	 * Gets a value that depends on the whole structure, such as its size or
+	 * height, so building it cannot be optimized away.
+	 *
+	 * @return a summary value of the structure
+	 */
+	int summary();
+}
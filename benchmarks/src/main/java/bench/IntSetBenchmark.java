@@ -0,0 +1,102 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * IntSetBenchmark class holds the benchmarks shared by the set structures:
+ * building the structure from scratch, looking keys up, and removing and
+ * re-adding keys. Every benchmark reports throughput and sampled latency
+ * percentiles; run with the GC profiler for the allocation rate.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public abstract class IntSetBenchmark {
+	private static final long SEED = 42; // Fixed so every run sees the same keys
+	private static final int PROBES = 1 << 12; // Lookup keys cycled through by the benchmarks
+
+	@Param({ "1000", "10000" })
+	public int size;
+
+	@Param({ "UNIFORM", "SORTED", "CLUSTERED" })
+	public KeyDistribution distribution;
+
+	private IntSet set; // Structure filled with all keys
+	private IntSet scratch; // Structure rebuilt by the build benchmark
+	private int[] keys; // Keys in insertion order
+	private int[] probes; // Keys looked up, half of them missing
+	private int next; // Position in the probes
+
+	/**
+	 * Gets the name of the adapter class of the structure.
+	 *
+	 * @return the name of a default-package class implementing IntSet
+	 */
+	protected abstract String adapter();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		keys = distribution.keys(size, SEED);
+		probes = KeyDistribution.probes(keys, PROBES, SEED);
+		set = Adapters.load(adapter(), IntSet.class);
+		scratch = Adapters.load(adapter(), IntSet.class);
+		set.init(size);
+		scratch.init(size);
+		for (int key : keys) {
+			set.add(key);
+		}
+	}
+
+	/**
+	 * Builds the structure from all keys in the order of the distribution.
+	 *
+	 * @return the summary of the built structure
+	 */
+	@Benchmark
+	public int build() {
+		scratch.clear();
+		for (int key : keys) {
+			scratch.add(key);
+		}
+		return scratch.summary();
+	}
+
+	/**
+	 * Looks up one key, present or missing.
+	 *
+	 * @return whether the key was found
+	 */
+	@Benchmark
+	public boolean contains() {
+		return set.contains(probes[next++ & (PROBES - 1)]);
+	}
+
+	/**
+	 * Removes one present key and adds it back.
+	 *
+	 * @return whether the key is present again
+	 */
+	@Benchmark
+	public boolean removeAndAdd() {
+		int key = probes[next++ & (PROBES - 1)] & ~1; // Even probes are present
+		set.remove(key);
+		set.add(key);
+		return set.contains(key);
+	}
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import java.util.Random;
+
+/**
+ * KeyDistribution enum lists the orders in which keys are inserted. The keys
+ * themselves are always the even numbers 0, 2, ..., 2 * (size - 1), so odd
+ * probes miss.
+ */
+public enum KeyDistribution {
+	/** Keys in random order. */
+	UNIFORM,
+	/** Keys in increasing order, the worst case of an unbalanced tree. */
+	SORTED,
+	/** Keys in increasing order within blocks of 64, with the blocks shuffled. */
+	CLUSTERED;
+
+	private static final int CLUSTER = 64; // Keys per block of CLUSTERED
+
+	/**
+	 * Generates the keys in this order.
+	 *
+	 * @param size the number of keys
+	 * @param seed the seed of the shuffle
+	 * @return the keys
+	 */
+	public int[] keys(int size, long seed) {
+		Random random = new Random(seed);
+		int[] keys = new int[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = 2 * i;
+		}
+		if (this == UNIFORM) {
+			shuffle(keys, random);
+		} else if (this == CLUSTERED) {
+			int blocks = (size + CLUSTER - 1) / CLUSTER;
+			int[] order = new int[blocks];
+			for (int b = 0; b < blocks; b++) {
+				order[b] = b;
+			}
+			shuffle(order, random);
+			int i = 0;
+			for (int b : order) {
+				for (int key = b * CLUSTER; key < Math.min(size, (b + 1) * CLUSTER); key++) {
+					keys[i++] = 2 * key;
+				}
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Generates lookup keys, half of them present among the given keys and half
+	 * missing, in random order.
+	 *
+	 * @param keys  the keys present in the structure
+	 * @param count the number of probes, a power of two
+	 * @param seed  the seed of the generator
+	 * @return the probes
+	 */
+	public static int[] probes(int[] keys, int count, long seed) {
+		Random random = new Random(seed);
+		int[] probes = new int[count];
+		for (int i = 0; i < count; i++) {
+			probes[i] = keys[random.nextInt(keys.length)] + (i & 1); // Odd keys are never present
+		}
+		return probes;
+	}
+
+	/**
+	 * Shuffles an array in place with the Fisher-Yates method.
+	 *
+	 * @param values the array to shuffle
+	 * @param random the source of randomness
+	 */
+	private static void shuffle(int[] values, Random random) {
+		for (int i = values.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = values[i];
+			values[i] = values[j];
+			values[j] = swap;
+		}
+	}
+}
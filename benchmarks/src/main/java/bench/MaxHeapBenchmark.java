@@ -0,0 +1,81 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MaxHeapBenchmark class times the two ways MainMaxHeap builds a heap and the
+ * heap sort, replacing the swap counts printed by MainMaxHeap.main with
+ * measured time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaxHeapBenchmark {
+	private static final long SEED = 42; // Fixed so every run sees the same values
+
+	@Param({ "1000", "100000" })
+	public int size;
+
+	@Param({ "UNIFORM", "SORTED", "CLUSTERED" })
+	public KeyDistribution distribution;
+
+	private MaxHeapTarget heap;
+	private int[] values; // Elements in input order
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		values = distribution.keys(size, SEED);
+		heap = Adapters.load("MaxHeapAdapter", MaxHeapTarget.class);
+		heap.init(size);
+	}
+
+	/**
+	 * Builds the heap bottom-up with heapify.
+	 *
+	 * @return the largest element
+	 */
+	@Benchmark
+	public int buildHeapify() {
+		heap.buildHeapify(values);
+		return heap.getMax();
+	}
+
+	/**
+	 * Builds the heap by inserting the elements one by one.
+	 *
+	 * @return the largest element
+	 */
+	@Benchmark
+	public int buildOneByOne() {
+		heap.buildOneByOne(values);
+		return heap.getMax();
+	}
+
+	/**
+	 * Builds the heap with heapify and sorts it.
+	 *
+	 * @return the element left at the root
+	 */
+	@Benchmark
+	public int heapSort() {
+		heap.buildHeapify(values);
+		heap.heapSort();
+		return heap.getMax();
+	}
+}
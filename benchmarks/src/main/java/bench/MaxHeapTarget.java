@@ -0,0 +1,41 @@
+package bench;
+
+/**
+ * MaxHeapTarget interface is the view of MainMaxHeap used by the heap
+ * benchmarks.
+ */
+public interface MaxHeapTarget {
+
+	/**
+	 * Creates an empty heap.
+	 *
+	 * @param capacity the maximum number of elements
+	 */
+	void init(int capacity);
+
+	/**
+	 * Builds the heap from an array with the bottom-up heapify method.
+	 *
+	 * @param values the elements
+	 */
+	void buildHeapify(int[] values);
+
+	/**
+	 * Empties the heap and builds it by inserting the elements one by one.
+	 *
+	 * @param values the elements
+	 */
+	void buildOneByOne(int[] values);
+
+	/**
+	 * Sorts the elements of the heap in place.
+	 */
+	void heapSort();
+
+	/**
+	 * Gets the root element of the heap.
+	 *
+	 * @return the element at the root
+	 */
+	int getMax();
+}
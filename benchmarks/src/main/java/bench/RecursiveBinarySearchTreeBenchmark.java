@@ -0,0 +1,18 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * RecursiveBinarySearchTreeBenchmark class runs the set benchmarks on the
+ * recursive baseline of BinarySearchTree, for comparison with
+ * BinarySearchTreeBenchmark.
+ */
+@State(Scope.Thread)
+public class RecursiveBinarySearchTreeBenchmark extends IntSetBenchmark {
+
+	@Override
+	protected String adapter() {
+		return "RecursiveBinarySearchTreeAdapter";
+	}
+}
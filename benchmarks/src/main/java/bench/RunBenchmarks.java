@@ -0,0 +1,32 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * RunBenchmarks class is the entry point of the benchmark jar. It accepts the
+ * usual JMH command line options and always adds the GC profiler, which
+ * reports the allocation rate of every benchmark.
+ */
+public class RunBenchmarks {
+
+	/**
+	 * Runs the benchmarks selected on the command line, or all of them.
+	 *
+	 * @param args JMH command line options
+	 * @throws CommandLineOptionException if the options are invalid
+	 * @throws RunnerException            if a benchmark fails
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
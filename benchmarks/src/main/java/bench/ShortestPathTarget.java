@@ -0,0 +1,38 @@
+package bench;
+
+/**
+ * ShortestPathTarget interface is the view of the shortest path engines used by
+ * the Dijkstra benchmarks.
+ */
+public interface ShortestPathTarget {
+
+	/**
+	 * Generates the road network to search.
+	 *
+	 * @param numVertices the number of locations
+	 * @param grid        true for a shuffled grid, false for a random network
+	 * @param seed        the seed of the generator
+	 */
+	void load(int numVertices, boolean grid, long seed);
+
+	/**
+	 * Runs the original array-scanning Dijkstra from vertex 0.
+	 *
+	 * @return the shortest distances
+	 */
+	int[] dijkstra();
+
+	/**
+	 * Runs the heap-based Dijkstra over the list-based graph from vertex 0.
+	 *
+	 * @return the shortest distances
+	 */
+	int[] dijkstraHeap();
+
+	/**
+	 * Runs the heap-based Dijkstra over the compact graph from vertex 0.
+	 *
+	 * @return the shortest distances
+	 */
+	int[] dijkstraCompact();
+}
@@ -0,0 +1,22 @@
+package bench;
+
+/**
+ * TreeTarget interface adds the whole-tree operations of the binary search
+ * trees to the set view.
+ */
+public interface TreeTarget extends IntSet {
+
+	/**
+	 * Computes the height of the tree.
+	 *
+	 * @return the height
+	 */
+	int height();
+
+	/**
+	 * Walks the whole tree in inorder with reset and getNext.
+	 *
+	 * @return the number of elements visited
+	 */
+	int inorder();
+}
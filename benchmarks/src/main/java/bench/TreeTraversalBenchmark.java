@@ -0,0 +1,70 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TreeTraversalBenchmark class times the whole-tree operations of the
+ * iterative BinarySearchTree against its recursive baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeTraversalBenchmark {
+	private static final long SEED = 42; // Fixed so every run sees the same keys
+
+	@Param({ "BinarySearchTreeAdapter", "RecursiveBinarySearchTreeAdapter" })
+	public String tree;
+
+	@Param({ "1000", "10000" })
+	public int size;
+
+	@Param({ "UNIFORM", "SORTED" })
+	public KeyDistribution distribution;
+
+	private TreeTarget target;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		target = Adapters.load(tree, TreeTarget.class);
+		target.init(size);
+		for (int key : distribution.keys(size, SEED)) {
+			target.add(key);
+		}
+	}
+
+	/**
+	 * Walks the tree in inorder.
+	 *
+	 * @return the number of elements visited
+	 */
+	@Benchmark
+	public int inorder() {
+		return target.inorder();
+	}
+
+	/**
+	 * Computes the height of the tree.
+	 *
+	 * @return the height
+	 */
+	@Benchmark
+	public int height() {
+		return target.height();
+	}
+}
@@ -0,0 +1,397 @@
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a self-balancing binary search tree (AVL tree). After every add and
+ * remove the heights of the two subtrees of any node differ by at most one, so
+ * the height stays O(log n) even when the elements arrive in sorted order.
+ *
+ * Traversals are lazy, as in BinarySearchTree: reset only pushes the path to the
+ * first element and getNext finds the others as they are asked for, keeping at
+ * most one node per level, which is O(log n) here.
+ *
+ * @param <T> the type of elements in the tree, must extend Comparable
+ */
+public class AVLTree<T extends Comparable<T>> implements BinarySearchTreeInterface<T> {
+    /**
+     * Represents a node in the AVL tree.
+     */
+    public class Node {
+        T data;
+        Node left, right;
+        int height; // Height of the subtree rooted at this node, 1 for a leaf
+
+        /**
+         * Constructs a leaf node with the given data.
+         *
+         * @param data the data to be stored in the node
+         */
+        Node(T data) {
+            this.data = data;
+            this.left = this.right = null;
+            this.height = 1;
+        }
+    }
+
+    Node root;
+    private int size; // Number of elements, kept up to date by add and remove
+    private TreeIterator cursor; // Traversal used by reset and getNext, null before the first reset
+    private int modCount; // Number of structural changes, checked by iterators
+
+    /**
+     * Constructs an empty AVL tree.
+     */
+    public AVLTree() {
+        root = null;
+        size = 0;
+        cursor = null;
+        modCount = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean isFull() {
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root = null; // Clear the root, effectively clearing the tree
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public void add(T element) {
+        root = addRecursive(root, element); // Add element recursively starting from the root
+    }
+
+    private Node addRecursive(Node current, T element) {
+        if (current == null) {
+            size++;
+            modCount++;
+            return new Node(element); // Create a new node if the current node is null
+        }
+
+        int comparison = element.compareTo(current.data);
+        if (comparison < 0) {
+            current.left = addRecursive(current.left, element); // Recursively add to the left subtree
+        } else if (comparison > 0) {
+            current.right = addRecursive(current.right, element); // Recursively add to the right subtree
+        } else {
+            return current; // value already exists
+        }
+        return rebalance(current); // Restore the balance on the way back up
+    }
+
+    @Override
+    public boolean contains(T element) {
+        Node current = root;
+        while (current != null) {
+            int comparison = element.compareTo(current.data);
+            if (comparison == 0) {
+                return true; // Element found
+            }
+            current = comparison < 0 ? current.left : current.right; // Descend into the matching subtree
+        }
+        return false; // Element not found
+    }
+
+    @Override
+    public void remove(T element) {
+        root = removeRecursive(root, element); // Remove element recursively starting from the root
+    }
+
+    private Node removeRecursive(Node current, T element) {
+        if (current == null) {
+            return null; // Element not found
+        }
+
+        int comparison = element.compareTo(current.data);
+        if (comparison < 0) {
+            current.left = removeRecursive(current.left, element); // Remove from left subtree
+        } else if (comparison > 0) {
+            current.right = removeRecursive(current.right, element); // Remove from right subtree
+        } else {
+            if (current.left == null || current.right == null) {
+                size--; // Only here is a node unlinked, also for the replaced node below
+                modCount++;
+                return current.left != null ? current.left : current.right; // Zero or one child
+            }
+            // Node has both children, replace with the smallest value in the right subtree
+            Node smallest = current.right;
+            while (smallest.left != null) {
+                smallest = smallest.left;
+            }
+            current.data = smallest.data;
+            current.right = removeRecursive(current.right, smallest.data); // Remove the replaced node
+        }
+        return rebalance(current); // Restore the balance on the way back up
+    }
+
+    /**
+     * Updates the height of a node whose subtrees are balanced and rotates it if
+     * its own subtrees differ in height by two.
+     *
+     * @param node the node to rebalance
+     * @return the root of the rebalanced subtree
+     */
+    private Node rebalance(Node node) {
+        updateHeight(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) { // Left side too tall
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left); // Left-right case
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) { // Right side too tall
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right); // Right-left case
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates a subtree to the right, lifting its left child.
+     *
+     * @param node the root of the subtree
+     * @return the new root of the subtree
+     */
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        updateHeight(node);
+        updateHeight(left);
+        return left;
+    }
+
+    /**
+     * Rotates a subtree to the left, lifting its right child.
+     *
+     * @param node the root of the subtree
+     * @return the new root of the subtree
+     */
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        updateHeight(node);
+        updateHeight(right);
+        return right;
+    }
+
+    private void updateHeight(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    /**
+     * Starts a lazy traversal of the tree for getNext. Elements are found one at a
+     * time as getNext asks for them.
+     *
+     * @param order the order of traversal: 0 inorder, 1 preorder, 2 postorder
+     * @throws IllegalArgumentException if the order is not 0, 1 or 2
+     */
+    @Override
+    public void reset(int order) {
+        cursor = new TreeIterator(order);
+    }
+
+    /**
+     * Gets the next element of the traversal started by reset.
+     *
+     * @param order the order of traversal, which is fixed by reset
+     * @return the next element, or null if there are no more elements or reset was
+     *         never called
+     * @throws ConcurrentModificationException if the tree changed since reset
+     */
+    @Override
+    public T getNext(int order) {
+        if (cursor != null && cursor.hasNext()) {
+            return cursor.next(); // Find the next element in the traversal
+        }
+        return null;
+    }
+
+    @Override
+    public void inorderTraversal() {
+        printElements(0);
+    }
+
+    @Override
+    public void postorderTraversal() {
+        printElements(2);
+    }
+
+    @Override
+    public void preorderTraversal() {
+        printElements(1);
+    }
+
+    /**
+     * Prints the elements in the given traversal order on one line, walking a
+     * lazy iterator of its own so an open reset/getNext traversal is left alone.
+     *
+     * @param order the order of traversal, as for reset
+     */
+    private void printElements(int order) {
+        Iterator<T> elements = new TreeIterator(order);
+        while (elements.hasNext()) {
+            System.out.print(elements.next() + " "); // Visit current node
+        }
+        System.out.println();
+    }
+
+    /**
+     * Finds the maximum value in the tree.
+     *
+     * @return the maximum value in the tree, or null if the tree is empty
+     */
+    public T findMax() {
+        if (isEmpty()) {
+            return null;
+        }
+        Node current = root;
+        while (current.right != null) {
+            current = current.right; // Traverse to the rightmost node
+        }
+        return current.data;
+    }
+
+    /**
+     * Finds the minimum value in the tree.
+     *
+     * @return the minimum value in the tree, or null if the tree is empty
+     */
+    public T findMin() {
+        if (isEmpty()) {
+            return null;
+        }
+        Node current = root;
+        while (current.left != null) {
+            current = current.left; // Traverse to the leftmost node
+        }
+        return current.data;
+    }
+
+    /**
+     * Gets the height of the tree, kept up to date by add and remove.
+     *
+     * @return the height of the tree
+     */
+    public int height() {
+        return height(root);
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Gets the value stored in the root node of the tree.
+     *
+     * @return the value stored in the root node, or null if the tree is empty
+     */
+    public T getRootValue() {
+        if (root != null) {
+            return root.data; // Return the data of the root node
+        }
+        return null; // Tree is empty
+    }
+
+    /**
+     * Lazy iterator in one of the three orders. The stack holds the nodes whose
+     * element or right subtree is still to come, at most one per level of the tree.
+     */
+    private class TreeIterator implements Iterator<T> {
+        private final int order; // 0 inorder, 1 preorder, 2 postorder
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+        private Node pending; // Postorder: root of the next subtree to descend into
+        private Node lastVisited; // Postorder: node returned last
+        private final int expectedModCount; // modCount when the iterator was created
+
+        TreeIterator(int order) {
+            this.order = order;
+            this.expectedModCount = modCount;
+            switch (order) {
+                case 0: // Inorder starts at the smallest element
+                    pushLeftSpine(root);
+                    break;
+                case 1: // Preorder starts at the root
+                    if (root != null) {
+                        stack.push(root);
+                    }
+                    break;
+                case 2: // Postorder descends from the root on demand
+                    pending = root;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid order: " + order); // Unsupported traversal order
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() || pending != null;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (order == 0) {
+                Node node = stack.pop();
+                pushLeftSpine(node.right); // Smallest element of the right subtree comes next
+                return node.data;
+            }
+            if (order == 1) {
+                Node node = stack.pop();
+                if (node.right != null) {
+                    stack.push(node.right); // Right subtree after the left one
+                }
+                if (node.left != null) {
+                    stack.push(node.left);
+                }
+                return node.data;
+            }
+            while (true) { // Postorder
+                if (pending != null) {
+                    stack.push(pending);
+                    pending = pending.left; // Left subtree first
+                    continue;
+                }
+                Node top = stack.peek();
+                if (top.right != null && top.right != lastVisited) {
+                    pending = top.right; // Then the right subtree
+                } else {
+                    lastVisited = stack.pop(); // Both subtrees done
+                    return lastVisited.data;
+                }
+            }
+        }
+
+        private void pushLeftSpine(Node node) {
+            for (; node != null; node = node.left) {
+                stack.push(node);
+            }
+        }
+    }
+}
@@ -1,18 +1,36 @@
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 //Code taken from tutorial slides CPSC 331 WINTER 2024
 /**
  * Represents a binary search tree.
  *
+ * Iterating over the tree is lazy: an iterator holds only the path it still has
+ * to come back to, so it uses O(height) memory, hands out the first element
+ * without visiting the rest of the tree, and any number of iterators can be open
+ * at once. Iterators are fail-fast and throw ConcurrentModificationException
+ * once the tree is changed by anything else.
+ *
  * @param <T> the type of elements in the tree, must extend Comparable
  */
-public class BinarySearchTree<T extends Comparable<T>> implements BinarySearchTreeInterface<T> {
+public class BinarySearchTree<T extends Comparable<T>> implements BinarySearchTreeInterface<T>, Iterable<T> {
     /**
      * Represents a node in the binary search tree.
      */
 	public class Node {
         T data;
         Node left, right;
+        int count; // Number of nodes in the subtree rooted at this node
         /**
          * Constructs a node with the given data.
          *
@@ -21,20 +39,85 @@ public class BinarySearchTree<T extends Comparable<T>> implements BinarySearchTr
         Node(T data) {
             this.data = data;
             this.left = this.right = null;
+            this.count = 1;
         }
     }
 
     Node root;
-    private ArrayList<T> traversalList;
-    private int current;
-    
+    private TreeIterator cursor; // Traversal used by reset and getNext, null before the first reset
+    private int modCount; // Number of structural changes, checked by iterators
+
     /**
      * Constructs an empty binary search tree.
      */
     public BinarySearchTree() {
         root = null;
-        traversalList = new ArrayList<>();
-        current = -1;
+        cursor = null;
+        modCount = 0;
+    }
+
+    /**
+     * Constructs a balanced binary search tree holding the given elements in O(n log n)
+     * time, or O(n) if they are already in increasing order. Duplicates are kept once,
+     * as add would.
+     *
+     * @param elements the elements to load, in any order
+     */
+    public BinarySearchTree(Collection<? extends T> elements) {
+        this();
+        Object[] sorted = elements.toArray();
+        if (!isIncreasing(sorted, false)) {
+            Arrays.sort(sorted); // Only needed when the input is out of order
+        }
+        int distinct = 0;
+        for (Object element : sorted) {
+            if (distinct == 0 || compare(sorted[distinct - 1], element) != 0) {
+                sorted[distinct++] = element; // Skip duplicates
+            }
+        }
+        root = buildBalanced(sorted, 0, distinct);
+    }
+
+    /**
+     * Builds a balanced binary search tree from elements already in strictly
+     * increasing order, in O(n) time.
+     *
+     * @param <T>    the type of elements in the tree
+     * @param sorted the elements in strictly increasing order
+     * @return the new balanced tree
+     * @throws IllegalArgumentException if the elements are not strictly increasing
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(List<? extends T> sorted) {
+        Object[] elements = sorted.toArray();
+        if (!isIncreasing(elements, true)) {
+            throw new IllegalArgumentException("Elements are not in strictly increasing order");
+        }
+        BinarySearchTree<T> tree = new BinarySearchTree<>();
+        tree.root = tree.buildBalanced(elements, 0, elements.length);
+        return tree;
+    }
+
+    /**
+     * Checks whether the elements are in increasing order.
+     *
+     * @param elements the elements to check
+     * @param strictly true to also reject equal neighbors
+     * @return true if every element is larger than (or, if not strictly, equal to)
+     *         the one before it
+     */
+    private static boolean isIncreasing(Object[] elements, boolean strictly) {
+        for (int i = 1; i < elements.length; i++) {
+            int comparison = compare(elements[i - 1], elements[i]);
+            if (comparison > 0 || strictly && comparison == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object first, Object second) {
+        return ((Comparable<Object>) first).compareTo(second);
     }
 
     @Override
@@ -49,168 +132,375 @@ public class BinarySearchTree<T extends Comparable<T>> implements BinarySearchTr
 
     @Override
     public int size() {
-        return size(root);
+        return count(root); // Kept up to date by add and remove
     }
 
-    private int size(Node node) {
-        if (node == null) {
-            return 0;
-        }
-        return 1 + size(node.left) + size(node.right); // Size of the tree rooted at this node
+    private int count(Node node) {
+        return node == null ? 0 : node.count; // Size of the tree rooted at this node
     }
 
     @Override
     public void clear() {
         root = null; // Clear the root, effectively clearing the tree
+        modCount++;
     }
 
     @Override
     public void add(T element) {
-        root = addRecursive(root, element); // Add element recursively starting from the root
-    }
-
-    private Node addRecursive(Node current, T element) {
-        if (current == null) {
-            return new Node(element); // Create a new node if the current node is null
+        ArrayDeque<Node> path = new ArrayDeque<>(); // Nodes that gain the new node below them
+        Node parent = null;
+        Node current = root;
+        int comparison = 0;
+        while (current != null) {
+            comparison = element.compareTo(current.data);
+            if (comparison == 0) {
+                return; // value already exists
+            }
+            path.push(current);
+            parent = current;
+            current = comparison < 0 ? current.left : current.right; // Continue in the matching subtree
         }
-
-        if (element.compareTo(current.data) < 0) {
-            current.left = addRecursive(current.left, element);  // Recursively add to the left subtree
-        } else if (element.compareTo(current.data) > 0) {
-            current.right = addRecursive(current.right, element);  // Recursively add to the right subtree
+        Node node = new Node(element);
+        if (parent == null) {
+            root = node; // First node of the tree
+        } else if (comparison < 0) {
+            parent.left = node; // Attach as the left child
         } else {
-            // value already exists
-            return current;
+            parent.right = node; // Attach as the right child
         }
-
-        return current;
+        for (Node ancestor : path) {
+            ancestor.count++;
+        }
+        modCount++;
     }
 
     @Override
     public boolean contains(T element) {
-        return containsRecursive(root, element);  // Check if element exists recursively
+        Node current = root;
+        while (current != null) {
+            int comparison = element.compareTo(current.data);
+            if (comparison == 0) {
+                return true;  // Element found
+            }
+            current = comparison < 0 ? current.left : current.right; // Search in the matching subtree
+        }
+        return false;  // Element not found
     }
 
-    private boolean containsRecursive(Node current, T element) {
+    @Override
+    public void remove(T element) {
+        ArrayDeque<Node> path = new ArrayDeque<>(); // Nodes that lose the removed node below them
+        Node parent = null;
+        Node current = root;
+        int comparison;
+        while (current != null && (comparison = element.compareTo(current.data)) != 0) {
+            path.push(current);
+            parent = current;
+            current = comparison < 0 ? current.left : current.right;
+        }
         if (current == null) {
-            return false;  // Element not found
+            return;  // Element not found
         }
-
-        if (element.compareTo(current.data) == 0) {
-            return true;  // Element found
+        for (Node ancestor : path) {
+            ancestor.count--;
+        }
+        modCount++;
+
+        if (current.left != null && current.right != null) {
+            // Node has both children, replace with the smallest value in the right subtree
+            current.count--;
+            Node successorParent = current;
+            Node successor = current.right;
+            while (successor.left != null) {
+                successor.count--; // The successor is removed from below
+                successorParent = successor;
+                successor = successor.left;
+            }
+            current.data = successor.data;
+            if (successorParent == current) {
+                successorParent.right = successor.right; // Successor was the right child
+            } else {
+                successorParent.left = successor.right; // Splice the successor out
+            }
+            return;
         }
 
-        return element.compareTo(current.data) < 0
-            ? containsRecursive(current.left, element)  // Search in the left subtree
-            : containsRecursive(current.right, element);  // Search in the right subtree
+        Node child = current.left != null ? current.left : current.right; // Zero or one child
+        if (parent == null) {
+            root = child;
+        } else if (parent.left == current) {
+            parent.left = child;
+        } else {
+            parent.right = child;
+        }
     }
 
+    /**
+     * Starts a lazy traversal of the tree for getNext. Elements are found one at a
+     * time as getNext asks for them.
+     *
+     * @param order the order of traversal: 0 inorder, 1 preorder, 2 postorder
+     * @throws IllegalArgumentException if the order is not 0, 1 or 2
+     */
     @Override
-    public void remove(T element) {
-        root = removeRecursive(root, element);  // Remove element recursively starting from the root
+    public void reset(int order) {
+        cursor = new TreeIterator(order);
     }
 
-    private Node removeRecursive(Node current, T element) {
-        if (current == null) {
-            return null;  // Element not found
+    /**
+     * Gets the next element of the traversal started by reset.
+     *
+     * @param order the order of traversal, which is fixed by reset
+     * @return the next element, or null if there are no more elements or reset was
+     *         never called
+     * @throws ConcurrentModificationException if the tree changed since reset
+     */
+    @Override
+    public T getNext(int order) {
+        if (cursor != null && cursor.hasNext()) {
+            return cursor.next(); // Find the next element in the traversal
         }
+        return null;
+    }
 
-        if (element.compareTo(current.data) == 0) {
-            if (current.left == null && current.right == null) {
-                return null;  // Node has no children
-            }
-            if (current.right == null) {
-                return current.left;  // Node has only left child
-            }
-            if (current.left == null) {
-                return current.right;  // Node has only right child
+    /**
+     * Removes every element that satisfies the predicate in one linear pass: the
+     * surviving elements are collected in order and rebuilt into a balanced tree,
+     * instead of removing the matches one at a time. The tree is left as it is if
+     * nothing matches.
+     *
+     * @param filter returns true for the elements to remove
+     * @return the number of elements removed
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        Object[] survivors = new Object[size()];
+        int kept = 0;
+        for (T element : this) {
+            if (!filter.test(element)) {
+                survivors[kept++] = element; // Keep in increasing order
             }
-         // Node has both children, replace with the smallest value in the right subtree
-            T smallestValue = findSmallestValue(current.right);
-            current.data = smallestValue;
-            current.right = removeRecursive(current.right, smallestValue); // Remove the replaced node
-            return current;
         }
+        int removed = survivors.length - kept;
+        if (removed > 0) {
+            root = buildBalanced(survivors, 0, kept);
+            modCount++;
+        }
+        return removed;
+    }
 
-        if (element.compareTo(current.data) < 0) {
-            current.left = removeRecursive(current.left, element); // Remove from left subtree
-        } else {
-            current.right = removeRecursive(current.right, element); // Remove from right subtree
+    /**
+     * Rebuilds the tree into a balanced shape in O(n) time, for example after a run
+     * of insertions in sorted order has made it tall. The elements are unchanged.
+     */
+    public void rebalance() {
+        Object[] sorted = new Object[size()];
+        int index = 0;
+        for (T element : this) {
+            sorted[index++] = element; // Flatten in increasing order
         }
-        return current;
+        root = buildBalanced(sorted, 0, sorted.length);
+        modCount++;
     }
 
-    private T findSmallestValue(Node root) {
-        return root.left == null ? root.data : findSmallestValue(root.left); // Find the smallest value in the subtree
+    /**
+     * Builds a balanced tree from elements in increasing order, taking the middle
+     * element as the root of each subtree. The recursion is only O(log n) deep.
+     *
+     * @param sorted the elements in strictly increasing order
+     * @param from   the index of the first element to use
+     * @param to     the index after the last element to use
+     * @return the root of the built subtree, or null if the range is empty
+     */
+    @SuppressWarnings("unchecked")
+    private Node buildBalanced(Object[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node node = new Node((T) sorted[middle]);
+        node.left = buildBalanced(sorted, from, middle); // Smaller elements
+        node.right = buildBalanced(sorted, middle + 1, to); // Larger elements
+        node.count = to - from;
+        return node;
     }
 
+    /**
+     * Returns a lazy iterator over the elements in increasing order.
+     *
+     * @return an inorder iterator
+     */
     @Override
-    public void reset(int order) {
-        traversalList.clear(); // Clear the traversal list
-        current = 0;
-        switch (order) {
-            case 0: // Inorder
-                inorderRecursive(root);  // Perform inorder traversal
-                break;
-            case 1: // Preorder
-                preorderRecursive(root);  // Perform preorder traversal
-                break;
-            case 2: // Postorder
-                postorderRecursive(root);; // Perform postorder traversal
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid order: " + order);  // Unsupported traversal order
+    public Iterator<T> iterator() {
+        return new TreeIterator(0);
+    }
+
+    /**
+     * Returns a lazy iterator over the elements in the given order.
+     *
+     * @param order the order of traversal: 0 inorder, 1 preorder, 2 postorder
+     * @return an iterator in that order
+     * @throws IllegalArgumentException if the order is not 0, 1 or 2
+     */
+    public Iterator<T> iterator(int order) {
+        return new TreeIterator(order);
+    }
+
+    /**
+     * Returns a lazy iterator over the elements from low to high, both inclusive,
+     * in increasing order. It visits O(height + k) nodes for k elements in range.
+     *
+     * @param low  the smallest element to return
+     * @param high the largest element to return
+     * @return an iterator over the range, empty if low is greater than high
+     */
+    public Iterator<T> rangeIterator(T low, T high) {
+        return new TreeIterator(low, high);
+    }
+
+    /**
+     * Counts the elements from low to high, both inclusive, in O(height) using the
+     * subtree counts.
+     *
+     * @param low  the lower bound
+     * @param high the upper bound
+     * @return the number of elements in range, 0 if low is greater than high
+     */
+    public int countRange(T low, T high) {
+        if (low.compareTo(high) > 0) {
+            return 0;
         }
+        return rank(high) - rank(low) + (contains(high) ? 1 : 0);
     }
 
-    @Override
-    public T getNext(int order) {
-        if (current >= 0 && current < traversalList.size()) {
-            return traversalList.get(current++); // Get the next element in the traversal list
+    /**
+     * Finds the largest element less than or equal to the given value.
+     *
+     * @param element the value to look for
+     * @return the floor of the value, or null if there is none
+     */
+    public T floor(T element) {
+        return nearest(element, true, true);
+    }
+
+    /**
+     * Finds the smallest element greater than or equal to the given value.
+     *
+     * @param element the value to look for
+     * @return the ceiling of the value, or null if there is none
+     */
+    public T ceiling(T element) {
+        return nearest(element, false, true);
+    }
+
+    /**
+     * Finds the smallest element strictly greater than the given value.
+     *
+     * @param element the value to look for
+     * @return the next larger element, or null if there is none
+     */
+    public T higher(T element) {
+        return nearest(element, false, false);
+    }
+
+    /**
+     * Finds the largest element strictly less than the given value.
+     *
+     * @param element the value to look for
+     * @return the next smaller element, or null if there is none
+     */
+    public T lower(T element) {
+        return nearest(element, true, false);
+    }
+
+    /**
+     * Walks down from the root to find the closest element on one side of a value.
+     *
+     * @param element   the value to look for
+     * @param below     true to look for elements below the value, false for above
+     * @param inclusive true if the value itself qualifies
+     * @return the closest qualifying element, or null if there is none
+     */
+    private T nearest(T element, boolean below, boolean inclusive) {
+        T best = null;
+        Node current = root;
+        while (current != null) {
+            int comparison = current.data.compareTo(element);
+            if (comparison == 0 && inclusive) {
+                return current.data; // Exact match
+            }
+            if (below ? comparison < 0 : comparison > 0) {
+                best = current.data; // Qualifies, look for a closer one
+                current = below ? current.right : current.left;
+            } else {
+                current = below ? current.left : current.right; // On the wrong side, move towards it
+            }
         }
-        return null;
+        return best;
     }
 
+    /**
+     * Returns a spliterator over the elements in increasing order.
+     *
+     * @return an inorder spliterator
+     */
     @Override
-    public void inorderTraversal() {
-        inorderRecursive(root); // Perform inorder traversal
-        System.out.println();
+    public Spliterator<T> spliterator() {
+        return spliterator(0);
     }
 
-    private void inorderRecursive(Node node) {
-        if (node != null) {
-            inorderRecursive(node.left); // Traverse left subtree
-            System.out.print(node.data + " "); // Visit current node
-            inorderRecursive(node.right); // Traverse right subtree
+    /**
+     * Returns a spliterator over the elements in the given order. It reports its
+     * exact size, and is sorted for inorder.
+     *
+     * @param order the order of traversal: 0 inorder, 1 preorder, 2 postorder
+     * @return a spliterator in that order
+     * @throws IllegalArgumentException if the order is not 0, 1 or 2
+     */
+    public Spliterator<T> spliterator(int order) {
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        if (order == 0) {
+            characteristics |= Spliterator.SORTED; // Natural order, no comparator
         }
+        return Spliterators.spliterator(iterator(order), size(), characteristics);
+    }
+
+    /**
+     * Returns a sequential stream of the elements in increasing order.
+     *
+     * @return a stream over the tree
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
     }
 
     @Override
-    public void postorderTraversal() {
-        postorderRecursive(root);  // Perform postorder traversal
-        System.out.println();
+    public void inorderTraversal() {
+        printElements(0);
     }
 
-    private void postorderRecursive(Node node) {
-        if (node != null) {
-            postorderRecursive(node.left);  // Traverse left subtree
-            postorderRecursive(node.right); // Traverse right subtree
-            System.out.print(node.data + " "); // Visit current node
-        }
+    @Override
+    public void postorderTraversal() {
+        printElements(2);
     }
 
     @Override
     public void preorderTraversal() {
-        preorderRecursive(root); // Perform preorder traversal
-        System.out.println();
+        printElements(1);
     }
 
-    private void preorderRecursive(Node node) {
-        if (node != null) {
-            System.out.print(node.data + " "); // Visit current node
-            preorderRecursive(node.left); // Traverse left subtree
-            preorderRecursive(node.right); // Traverse right subtree
+    /**
+     * Prints the elements in the given traversal order on one line. The lazy
+     * iterator keeps its own stack, so printing never changes the tree and is safe
+     * alongside other readers.
+     *
+     * @param order the order of traversal, as for reset
+     */
+    private void printElements(int order) {
+        Iterator<T> elements = iterator(order);
+        while (elements.hasNext()) {
+            System.out.print(elements.next() + " "); // Visit current node
         }
+        System.out.println();
     }
 
     /**
@@ -252,19 +542,73 @@ public class BinarySearchTree<T extends Comparable<T>> implements BinarySearchTr
      * @return the height of the tree
      */
     public int height() {
-        return height(root); // Calculate height starting from the root
+        int height = 0;
+        ArrayDeque<Node> level = new ArrayDeque<>(); // Nodes of the current level
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            height++; // One more level below
+            for (int i = level.size(); i > 0; i--) {
+                Node node = level.poll();
+                if (node.left != null) {
+                    level.add(node.left); // Queue the next level
+                }
+                if (node.right != null) {
+                    level.add(node.right);
+                }
+            }
+        }
+        return height;
+    }
+    /**
+     * Finds the element at the given position in sorted order, using the subtree
+     * counts to descend directly to it.
+     *
+     * @param k the position, 0 for the smallest element
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is negative or not less than size()
+     */
+    public T select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Position " + k + " outside tree of size " + size());
+        }
+        Node current = root;
+        while (true) {
+            int leftCount = count(current.left); // Elements smaller than current
+            if (k < leftCount) {
+                current = current.left; // The element is in the left subtree
+            } else if (k == leftCount) {
+                return current.data;
+            } else {
+                k -= leftCount + 1; // Skip the left subtree and current
+                current = current.right;
+            }
+        }
     }
 
-    private int height(Node node) {
-        if (node == null) {
-            return 0;
-        } else {
-            int leftHeight = height(node.left); // Height of the left subtree
-            int rightHeight = height(node.right); // Height of the right subtree
-
-            return Math.max(leftHeight, rightHeight) + 1; // Height of the current node
+    /**
+     * Counts the elements smaller than the given value, which need not be in the
+     * tree. For an element of the tree this is its position in sorted order.
+     *
+     * @param element the value to rank
+     * @return the number of elements smaller than the value
+     */
+    public int rank(T element) {
+        int rank = 0;
+        Node current = root;
+        while (current != null) {
+            int comparison = element.compareTo(current.data);
+            if (comparison <= 0) {
+                current = current.left; // Only the left subtree can hold smaller elements
+            } else {
+                rank += count(current.left) + 1; // Left subtree and current are smaller
+                current = current.right;
+            }
         }
+        return rank;
     }
+
     /**
      * Gets the value stored in the root node of the tree.
      *
@@ -277,6 +621,113 @@ public class BinarySearchTree<T extends Comparable<T>> implements BinarySearchTr
         return null; // Tree is empty
     }
 
+    /**
+     * Lazy iterator in one of the three orders. The stack holds the nodes whose
+     * element or right subtree is still to come, at most one per level of the tree,
+     * so a traversal takes O(height) extra space: O(log n) on a balanced tree but
+     * O(n) on one that sorted insertions degraded to a list.
+     */
+    private class TreeIterator implements Iterator<T> {
+        private final int order; // 0 inorder, 1 preorder, 2 postorder
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+        private Node pending; // Postorder: root of the next subtree to descend into
+        private Node lastVisited; // Postorder: node returned last
+        private final int expectedModCount; // modCount when the iterator was created
+        private T high; // Inorder: largest element to return, null for no bound
+
+        /**
+         * Creates an inorder iterator over the elements from low to high, inclusive.
+         * Only the path to low is pushed, so reaching the first element costs
+         * O(height) and each further one O(1) amortized.
+         */
+        TreeIterator(T low, T high) {
+            this.order = 0;
+            this.expectedModCount = modCount;
+            this.high = high;
+            for (Node node = root; node != null;) {
+                if (node.data.compareTo(low) >= 0) {
+                    stack.push(node); // In range from below, smaller elements may be on the left
+                    node = node.left;
+                } else {
+                    node = node.right; // Too small, so is its whole left subtree
+                }
+            }
+        }
+
+        TreeIterator(int order) {
+            this.order = order;
+            this.expectedModCount = modCount;
+            switch (order) {
+                case 0: // Inorder starts at the smallest element
+                    pushLeftSpine(root);
+                    break;
+                case 1: // Preorder starts at the root
+                    if (root != null) {
+                        stack.push(root);
+                    }
+                    break;
+                case 2: // Postorder descends from the root on demand
+                    pending = root;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid order: " + order); // Unsupported traversal order
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (high != null) {
+                return !stack.isEmpty() && stack.peek().data.compareTo(high) <= 0; // Stop past the upper bound
+            }
+            return !stack.isEmpty() || pending != null;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (order == 0) {
+                Node node = stack.pop();
+                pushLeftSpine(node.right); // Smallest element of the right subtree comes next
+                return node.data;
+            }
+            if (order == 1) {
+                Node node = stack.pop();
+                if (node.right != null) {
+                    stack.push(node.right); // Right subtree after the left one
+                }
+                if (node.left != null) {
+                    stack.push(node.left);
+                }
+                return node.data;
+            }
+            while (true) { // Postorder
+                if (pending != null) {
+                    stack.push(pending);
+                    pending = pending.left; // Left subtree first
+                    continue;
+                }
+                Node top = stack.peek();
+                if (top.right != null && top.right != lastVisited) {
+                    pending = top.right; // Then the right subtree
+                } else {
+                    lastVisited = stack.pop(); // Both subtrees done
+                    return lastVisited.data;
+                }
+            }
+        }
+
+        private void pushLeftSpine(Node node) {
+            for (; node != null; node = node.left) {
+                stack.push(node);
+            }
+        }
+    }
+
     /**
      * Main method for testing the BinarySearchTree class.
      *
@@ -309,6 +760,8 @@ public class BinarySearchTree<T extends Comparable<T>> implements BinarySearchTr
 
         System.out.println("Maximum element in the BST: " + bst.findMax());
         System.out.println("Minimum element in the BST: " + bst.findMin());
+        System.out.println("Third smallest element in the BST: " + bst.select(2));
+        System.out.println("Number of elements smaller than 65: " + bst.rank(65));
 
         // Check if the BST contains a specific element
         System.out.println("Does the BST contain 40? " + bst.contains(40));
@@ -6,6 +6,7 @@ import org.knowm.xchart.style.Styler;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.IntSupplier;
 
 /**
  * This class implements tasks related to binary search trees (BST) to verify the time complexity
@@ -17,12 +18,17 @@ import java.util.Random;
  * 3. Inserts new random integers into the modified tree and measures the time needed for insertion.
  * 4. Plots the height of the tree against the time taken for insertion, using the XChart library.
  * 5. Compares the experimental results with the expected time complexity for inserting elements into a BST.
+ * 6. Inserts sorted integers into a plain BST and an AVL tree and plots both heights, showing the
+ *    plain tree degrade to a list while the AVL tree stays logarithmic.
  */
 public class MainBST {
 	
 	// Create a binary search tree instance
 	static BinarySearchTree<Integer> bst = new BinarySearchTree<>();
 
+	// Number of sorted integers inserted when comparing the plain and the AVL tree
+	private static final int SORTED_INSERTIONS = 500;
+
     /**
      * Main method to run the program.
      *
@@ -43,6 +49,16 @@ public class MainBST {
 
 		// Display the chart
 		new SwingWrapper<>(chart).displayChart();
+
+		// Step 6: Compare the plain and the balanced tree on sorted insertions
+		BinarySearchTree<Integer> plainTree = new BinarySearchTree<>();
+		AVLTree<Integer> avlTree = new AVLTree<>();
+		List<Integer> plainHeights = insertSortedIntegers(plainTree, plainTree::height, SORTED_INSERTIONS);
+		List<Integer> avlHeights = insertSortedIntegers(avlTree, avlTree::height, SORTED_INSERTIONS);
+		System.out.println("Height after " + SORTED_INSERTIONS + " sorted insertions - BST: " + plainTree.height() + ", AVL tree: " + avlTree.height());
+		plainTree.rebalance(); // Rebuild the tall plain tree in linear time
+		System.out.println("Height of the BST after rebalance: " + plainTree.height());
+		new SwingWrapper<>(createHeightComparisonChart(plainHeights, avlHeights)).displayChart();
 	}
 
 	// Function g(n) to generate random integers between 0 and n
@@ -74,37 +90,14 @@ public class MainBST {
 	}
 
 	/**
-	 * Removes all odd values from the binary search tree.
+	 * Removes all odd values from the binary search tree in a single pass.
 	 *
 	 * @param bst the binary search tree instance
 	 */
 	private static void removeOddValues(BinarySearchTree<Integer> bst) {
-		ArrayList<Integer> oddValues = new ArrayList<>();  // List to store odd values
 		bst.inorderTraversal(); // Display the original tree before removing odd values
-		findAndRemoveOddValues(bst.root, oddValues); // Find and remove odd values from the tree
-	}
-	
-	/**
-	 * Recursively finds and removes odd values from the binary search tree.
-	 *
-	 * @param node      the current node being evaluated
-	 * @param oddValues list to store odd values found in the tree
-	 */
-
-	private static void findAndRemoveOddValues(BinarySearchTree<Integer>.Node node, ArrayList<Integer> oddValues) {
-		if (node == null) {
-			return;  // Base case: if node is null, return
-		}
-		findAndRemoveOddValues(node.left, oddValues); // Traverse left subtree
-		if (node.data % 2 != 0) {
-			oddValues.add(node.data); // Add odd value to the list
-		}
-		findAndRemoveOddValues(node.right, oddValues); // Traverse right subtree
-		
-		// Remove odd values from the tree
-		for (Integer value : oddValues) {
-			bst.remove(value);
-		}
+		int removed = bst.removeIf(value -> value % 2 != 0); // Remove odd values and rebuild the tree
+		System.out.println("Removed " + removed + " odd values.");
 	}
 	
     /**
@@ -152,4 +145,43 @@ public class MainBST {
 		return chart;
 	}
 
+	/**
+	 * Inserts the integers 0 to n - 1 in increasing order and records the height after each insertion.
+	 *
+	 * @param tree   the tree to insert into
+	 * @param height supplies the current height of the tree
+	 * @param n      the number of integers to insert
+	 * @return a list containing heights of the tree after each insertion
+	 */
+	public static List<Integer> insertSortedIntegers(BinarySearchTreeInterface<Integer> tree, IntSupplier height, int n) {
+		List<Integer> heights = new ArrayList<>();
+		for (int k = 0; k < n; k++) {
+			tree.add(k); // Sorted input, the worst case of an unbalanced tree
+			heights.add(height.getAsInt());
+		}
+		return heights;
+	}
+
+	/**
+	 * Creates a chart plotting the heights of the plain and the AVL tree against the number of insertions.
+	 *
+	 * @param plainHeights heights of the plain tree after each insertion
+	 * @param avlHeights   heights of the AVL tree after each insertion
+	 * @return the created XYChart
+	 */
+	private static XYChart createHeightComparisonChart(List<Integer> plainHeights, List<Integer> avlHeights) {
+		XYChart chart = new XYChart(600, 400);
+		chart.setTitle("Height vs. Sorted Insertions");
+		chart.setXAxisTitle("Insertions");
+		chart.setYAxisTitle("Height");
+		chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideNW);
+
+		List<Integer> insertions = new ArrayList<>();
+		for (int i = 0; i < plainHeights.size(); i++) {
+			insertions.add(i + 1); // X-axis: number of insertions so far
+		}
+		chart.addSeries("BinarySearchTree", insertions, plainHeights);
+		chart.addSeries("AVLTree", insertions, avlHeights);
+		return chart;
+	}
 }
@@ -0,0 +1,105 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * BatchShortestPaths class computes the shortest distances from many warehouses
+ * at once. Each source is an independent Dijkstra search over the same read-only
+ * CompactCityGraph, so the searches are spread over the threads of a fork-join
+ * pool. The heap and visited array of a finished search are reused by the next
+ * one, so a batch creates no more of them than searches run at the same time.
+ */
+public class BatchShortestPaths {
+	private static final int SOURCES_PER_TASK = 1; // Sources searched by one task without further splitting
+
+	private BatchShortestPaths() {
+	}
+
+	/**
+	 * Finds the shortest distances from each of the given sources to all vertices,
+	 * using the common fork-join pool.
+	 *
+	 * @param graph   the compact city graph
+	 * @param sources the indices of the warehouses to search from
+	 * @return one distance array per source, in the order of the sources
+	 */
+	public static int[][] dijkstraAll(CompactCityGraph graph, int[] sources) {
+		return dijkstraAll(graph, sources, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Finds the shortest distances from each of the given sources to all vertices,
+	 * running the searches on the given pool.
+	 *
+	 * @param graph   the compact city graph
+	 * @param sources the indices of the warehouses to search from
+	 * @param pool    the pool to run the searches on
+	 * @return one distance array per source, in the order of the sources;
+	 *         Integer.MAX_VALUE marks unreachable vertices
+	 */
+	public static int[][] dijkstraAll(CompactCityGraph graph, int[] sources, ForkJoinPool pool) {
+		int[][] distances = new int[sources.length][];
+		int numVertices = graph.getNumVertices();
+		ScratchPool<Scratch> scratches = new ScratchPool<>(() -> new Scratch(numVertices));
+		pool.invoke(new SearchTask(graph, sources, distances, scratches, 0, sources.length));
+		return distances;
+	}
+
+	/**
+	 * Scratch holds the arrays reused between searches.
+	 */
+	private static class Scratch {
+		IndexedMinHeap heap; // Queue of reached but unvisited vertices
+		boolean[] visited; // Visited flag of each vertex
+
+		/**
+		 * Constructs scratch space for graphs of up to the given number of vertices.
+		 *
+		 * @param numVertices the number of vertices
+		 */
+		Scratch(int numVertices) {
+			this.heap = new IndexedMinHeap(numVertices);
+			this.visited = new boolean[numVertices];
+		}
+	}
+
+	/**
+	 * SearchTask runs the searches for a range of sources, splitting the range in
+	 * half until it is small enough.
+	 */
+	private static class SearchTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private CompactCityGraph graph; // Graph shared by all tasks
+		private int[] sources; // All sources of the batch
+		private int[][] distances; // Results, one slot per source
+		private ScratchPool<Scratch> scratches; // Scratch space shared by the tasks of this call
+		private int from, to; // Range of sources handled by this task
+
+		SearchTask(CompactCityGraph graph, int[] sources, int[][] distances, ScratchPool<Scratch> scratches, int from,
+				int to) {
+			this.graph = graph;
+			this.sources = sources;
+			this.distances = distances;
+			this.scratches = scratches;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > SOURCES_PER_TASK) {
+				int mid = (from + to) >>> 1; // Split the range in half
+				invokeAll(new SearchTask(graph, sources, distances, scratches, from, mid),
+						new SearchTask(graph, sources, distances, scratches, mid, to));
+				return;
+			}
+			Scratch scratch = scratches.take();
+			for (int i = from; i < to; i++) {
+				int[] result = new int[graph.getNumVertices()];
+				DijkstraAlgorithm.dijkstraHeap(graph, sources[i], result, null, scratch.heap, scratch.visited);
+				distances[i] = result;
+			}
+			scratches.give(scratch);
+		}
+	}
+}
@@ -7,7 +7,10 @@ import java.util.*;
  */
 public class CityGraph {
 	private int numVertices; // Number of vertices in the graph
-	private List<List<Edge>> adjacencyList; // Adjacency list representing the graph
+	private List<List<Edge>> adjacencyList; // Adjacency list representing the graph, null once frozen
+	private int numEdges; // Number of edges in the graph
+	private CompactCityGraph compact; // Compact form of the graph, null until frozen
+	private double[] xCoordinates, yCoordinates; // Optional position of each vertex, null until set
 
 	/**
 	 * Constructs a CityGraph with the specified number of vertices.
@@ -30,17 +33,107 @@ public class CityGraph {
 	 * @param weight      the weight of the edge (distance between locations)
 	 */
 	public void addEdge(int source, int destination, int weight) {
+		if (compact != null) {
+			throw new IllegalStateException("Cannot add roads to a frozen graph");
+		}
 		Edge edge = new Edge(destination, weight); // Create a new edge with destination and weight
 		adjacencyList.get(source).add(edge); // Add the edge to the adjacency list of the source vertex
+		numEdges++;
+	}
+
+	/**
+	 * Changes the weight of the road from source to destination. If there are
+	 * several such roads, all of them get the new weight.
+	 *
+	 * @param source      the index of the source vertex
+	 * @param destination the index of the destination vertex
+	 * @param weight      the new weight of the road
+	 * @return true if a road was found and changed, false otherwise
+	 * @throws IllegalStateException if the graph is frozen
+	 */
+	public boolean setEdgeWeight(int source, int destination, int weight) {
+		if (compact != null) {
+			throw new IllegalStateException("Cannot change roads of a frozen graph");
+		}
+		boolean found = false;
+		for (Edge edge : adjacencyList.get(source)) {
+			if (edge.destination == destination) {
+				edge.weight = weight; // Update the road in place
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Removes the road from source to destination. If there are several such roads,
+	 * all of them are removed.
+	 *
+	 * @param source      the index of the source vertex
+	 * @param destination the index of the destination vertex
+	 * @return true if a road was removed, false otherwise
+	 * @throws IllegalStateException if the graph is frozen
+	 */
+	public boolean removeEdge(int source, int destination) {
+		if (compact != null) {
+			throw new IllegalStateException("Cannot remove roads from a frozen graph");
+		}
+		List<Edge> edges = adjacencyList.get(source);
+		int before = edges.size();
+		edges.removeIf(edge -> edge.destination == destination); // Drop every matching road
+		numEdges -= before - edges.size();
+		return edges.size() != before;
+	}
+
+	/**
+	 * Adds a batch of directed edges, the i-th going from sources[i] to
+	 * destinations[i] with weight weights[i].
+	 *
+	 * @param sources      the indices of the source vertices
+	 * @param destinations the indices of the destination vertices
+	 * @param weights      the weights of the edges
+	 * @param count        the number of edges to add from the start of the arrays
+	 */
+	public void addEdges(int[] sources, int[] destinations, int[] weights, int count) {
+		for (int i = 0; i < count; i++) {
+			addEdge(sources[i], destinations[i], weights[i]); // Add each road of the batch
+		}
+	}
+
+	/**
+	 * Freezes the graph into its compact CSR form. The adjacency lists are released
+	 * and no more roads can be added afterwards. Calling this again returns the
+	 * same compact graph.
+	 *
+	 * @return the compact form of the graph
+	 */
+	public CompactCityGraph freeze() {
+		if (compact == null) {
+			compact = new CompactCityGraph(this); // Copy the roads into primitive arrays
+			adjacencyList = null; // Drop the per-road Edge objects
+		}
+		return compact;
+	}
+
+	/**
+	 * Checks if the graph has been frozen into its compact form.
+	 *
+	 * @return true if the graph is frozen, false otherwise
+	 */
+	public boolean isFrozen() {
+		return compact != null;
 	}
 
 	/**
 	 * Retrieves the list of edges connected to the specified vertex.
 	 *
 	 * @param vertex the index of the vertex
-	 * @return the list of edges connected to the vertex
+	 * @return the list of edges connected to the vertex, a new copy if the graph is frozen
 	 */
 	public List<Edge> getEdges(int vertex) {
+		if (compact != null) {
+			return compact.getEdgeList(vertex); // Rebuild the edges from the compact form
+		}
 		return adjacencyList.get(vertex); // Return the list of edges for the specified vertex
 	}
 
@@ -53,6 +146,61 @@ public class CityGraph {
 		return numVertices; // Return the number of vertices
 	}
 
+	/**
+	 * Gets the number of edges in the graph.
+	 *
+	 * @return the number of edges
+	 */
+	public int getNumEdges() {
+		return numEdges;
+	}
+
+	/**
+	 * Sets the position of the specified vertex, for example its map coordinates.
+	 * Positions are optional and are only used to build search heuristics.
+	 *
+	 * @param vertex the index of the vertex
+	 * @param x      the x coordinate of the vertex
+	 * @param y      the y coordinate of the vertex
+	 */
+	public void setCoordinates(int vertex, double x, double y) {
+		if (xCoordinates == null) {
+			xCoordinates = new double[numVertices]; // Allocate on first use
+			yCoordinates = new double[numVertices];
+		}
+		xCoordinates[vertex] = x;
+		yCoordinates[vertex] = y;
+	}
+
+	/**
+	 * Checks if vertex positions have been set.
+	 *
+	 * @return true if coordinates are available, false otherwise
+	 */
+	public boolean hasCoordinates() {
+		return xCoordinates != null;
+	}
+
+	/**
+	 * Gets the x coordinate of the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the x coordinate, or 0 if it was never set
+	 */
+	public double getX(int vertex) {
+		return xCoordinates == null ? 0 : xCoordinates[vertex];
+	}
+
+	/**
+	 * Gets the y coordinate of the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the y coordinate, or 0 if it was never set
+	 */
+	public double getY(int vertex) {
+		return yCoordinates == null ? 0 : yCoordinates[vertex];
+	}
+
 	/**
 	 * Edge class represents an edge in the CityGraph.
 	 */
@@ -0,0 +1,148 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CityGraphFile class reads and writes the binary graph format. A file holds a
+ * header followed by the CSR arrays of a CompactCityGraph, all as little-endian
+ * 32-bit integers:
+ *
+ * <pre>
+ * magic, version, numVertices, numEdges
+ * offsets[numVertices + 1]
+ * targets[numEdges]
+ * weights[numEdges]
+ * </pre>
+ *
+ * Opening a file maps these arrays into memory instead of parsing them, so a
+ * graph of any size is queryable as soon as it is opened and its pages are
+ * loaded by the operating system on first use.
+ */
+public class CityGraphFile {
+	static final int MAGIC = 0x43475246; // "CGRF"
+	static final int VERSION = 1; // Version of the layout above
+	private static final int HEADER_INTS = 4; // Number of integers in the header
+	private static final int CHUNK_BYTES = 1 << 16; // Size of the write buffer
+
+	private CityGraphFile() {
+	}
+
+	/**
+	 * Writes a compact graph to the given file, replacing it if it exists.
+	 *
+	 * @param graph the compact city graph to write
+	 * @param path  the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(CompactCityGraph graph, Path path) throws IOException {
+		int numVertices = graph.getNumVertices();
+		int numEdges = graph.getNumEdges();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			chunk.putInt(MAGIC).putInt(VERSION).putInt(numVertices).putInt(numEdges); // Header
+			for (int v = 0; v < numVertices; v++) {
+				put(channel, chunk, graph.getEdgeStart(v));
+			}
+			put(channel, chunk, numEdges); // Closing offset
+			for (int e = 0; e < numEdges; e++) {
+				put(channel, chunk, graph.getTarget(e));
+			}
+			for (int e = 0; e < numEdges; e++) {
+				put(channel, chunk, graph.getWeight(e));
+			}
+			flush(channel, chunk);
+		}
+	}
+
+	/**
+	 * Opens a graph file by mapping its arrays into memory. Nothing is parsed or
+	 * copied; the returned graph reads the file pages directly and stays valid
+	 * after this method returns.
+	 *
+	 * @param path the file to open
+	 * @return the compact city graph backed by the file
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a graph file of a
+	 *                                  supported version
+	 */
+	public static CompactCityGraph map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// Keep reading until the whole header is in
+			}
+			if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+				throw new IllegalArgumentException("Not a city graph file: " + path);
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new IllegalArgumentException("Unsupported city graph file version: " + header.getInt(4));
+			}
+			int numVertices = header.getInt(8);
+			int numEdges = header.getInt(12);
+			long expected = (HEADER_INTS + (long) numVertices + 1 + 2L * numEdges) * Integer.BYTES;
+			if (numVertices < 0 || numEdges < 0 || channel.size() != expected) {
+				throw new IllegalArgumentException("Corrupt city graph file: " + path);
+			}
+
+			long position = HEADER_INTS * Integer.BYTES;
+			IntBuffer offsets = mapInts(channel, position, numVertices + 1);
+			position += (numVertices + 1L) * Integer.BYTES;
+			IntBuffer targets = mapInts(channel, position, numEdges);
+			position += (long) numEdges * Integer.BYTES;
+			IntBuffer weights = mapInts(channel, position, numEdges);
+			return new CompactCityGraph(offsets, targets, weights);
+		}
+	}
+
+	/**
+	 * Maps a region of the file as a read-only buffer of little-endian integers.
+	 *
+	 * @param channel  the open file
+	 * @param position the byte offset of the region
+	 * @param count    the number of integers in the region
+	 * @return the mapped integers
+	 * @throws IOException if the region cannot be mapped
+	 */
+	private static IntBuffer mapInts(FileChannel channel, long position, int count) throws IOException {
+		long bytes = (long) count * Integer.BYTES;
+		if (bytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Graph array too large to map: " + count + " entries");
+		}
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+	}
+
+	/**
+	 * Appends one integer to the write buffer, flushing it to the file when full.
+	 *
+	 * @param channel the file being written
+	 * @param chunk   the write buffer
+	 * @param value   the integer to append
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void put(FileChannel channel, ByteBuffer chunk, int value) throws IOException {
+		if (!chunk.hasRemaining()) {
+			flush(channel, chunk);
+		}
+		chunk.putInt(value);
+	}
+
+	/**
+	 * Writes the contents of the write buffer to the file and empties it.
+	 *
+	 * @param channel the file being written
+	 * @param chunk   the write buffer
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void flush(FileChannel channel, ByteBuffer chunk) throws IOException {
+		chunk.flip();
+		while (chunk.hasRemaining()) {
+			channel.write(chunk);
+		}
+		chunk.clear();
+	}
+}
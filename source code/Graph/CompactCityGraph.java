@@ -0,0 +1,222 @@
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CompactCityGraph class is a read-only compressed sparse row (CSR) form of a
+ * CityGraph. The roads leaving vertex v are stored contiguously at edge indices
+ * getEdgeStart(v) to getEdgeEnd(v) - 1 in two primitive arrays, one for the
+ * destinations and one for the weights, so no Edge object is kept per road.
+ * Graphs opened from a file written by CityGraphFile read the same arrays from
+ * memory-mapped buffers instead; graphs built on the heap index their arrays
+ * directly.
+ */
+public class CompactCityGraph {
+	private int numVertices; // Number of vertices in the graph
+	private int[] offsets; // First edge index of each vertex, with offsets[numVertices] = number of edges
+	private int[] targets; // Destination vertex of each edge
+	private int[] weights; // Weight of each edge
+	private MappedArrays mapped; // File regions holding the arrays instead, null for heap graphs
+
+	/**
+	 * Holds the CSR arrays of a graph whose storage is a memory-mapped file.
+	 */
+	private static class MappedArrays {
+		final IntBuffer offsets;
+		final IntBuffer targets;
+		final IntBuffer weights;
+
+		MappedArrays(IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+			this.offsets = offsets;
+			this.targets = targets;
+			this.weights = weights;
+		}
+	}
+
+	/**
+	 * Constructs a compact copy of the given city graph, keeping the order in which
+	 * the roads of each vertex were added.
+	 *
+	 * @param graph the city graph to copy
+	 */
+	public CompactCityGraph(CityGraph graph) {
+		int numVertices = graph.getNumVertices();
+		int[] offsets = new int[numVertices + 1];
+		for (int v = 0; v < numVertices; v++) {
+			offsets[v + 1] = offsets[v] + graph.getEdges(v).size(); // Running total of out-degrees
+		}
+		int[] targets = new int[offsets[numVertices]];
+		int[] weights = new int[offsets[numVertices]];
+		for (int v = 0; v < numVertices; v++) {
+			int e = offsets[v];
+			for (CityGraph.Edge edge : graph.getEdges(v)) {
+				targets[e] = edge.destination; // Copy the road into the slot of its source vertex
+				weights[e] = edge.weight;
+				e++;
+			}
+		}
+		this.numVertices = numVertices;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	}
+
+	/**
+	 * Constructs a compact graph directly from CSR arrays. The arrays are used as
+	 * they are, not copied.
+	 *
+	 * @param offsets first edge index of each vertex, followed by the number of edges
+	 * @param targets destination vertex of each edge
+	 * @param weights weight of each edge
+	 */
+	CompactCityGraph(int[] offsets, int[] targets, int[] weights) {
+		this.numVertices = offsets.length - 1;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	}
+
+	/**
+	 * Constructs a compact graph over existing CSR buffers, such as the regions of a
+	 * memory-mapped graph file. The buffers are used as they are, not copied.
+	 *
+	 * @param offsets first edge index of each vertex, followed by the number of edges
+	 * @param targets destination vertex of each edge
+	 * @param weights weight of each edge
+	 */
+	CompactCityGraph(IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+		this.numVertices = offsets.capacity() - 1;
+		this.mapped = new MappedArrays(offsets, targets, weights);
+	}
+
+	/**
+	 * Gets the number of vertices in the graph.
+	 *
+	 * @return the number of vertices
+	 */
+	public int getNumVertices() {
+		return numVertices;
+	}
+
+	/**
+	 * Gets the number of edges in the graph.
+	 *
+	 * @return the number of edges
+	 */
+	public int getNumEdges() {
+		return getEdgeStart(numVertices);
+	}
+
+	/**
+	 * Gets the index of the first edge leaving the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the index of the first outgoing edge
+	 */
+	public int getEdgeStart(int vertex) {
+		return offsets != null ? offsets[vertex] : mapped.offsets.get(vertex);
+	}
+
+	/**
+	 * Gets the index one past the last edge leaving the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the exclusive end index of the outgoing edges
+	 */
+	public int getEdgeEnd(int vertex) {
+		return getEdgeStart(vertex + 1);
+	}
+
+	/**
+	 * Gets the destination vertex of the specified edge.
+	 *
+	 * @param edge the index of the edge
+	 * @return the index of the destination vertex
+	 */
+	public int getTarget(int edge) {
+		return targets != null ? targets[edge] : mapped.targets.get(edge);
+	}
+
+	/**
+	 * Gets the weight of the specified edge.
+	 *
+	 * @param edge the index of the edge
+	 * @return the weight of the edge
+	 */
+	public int getWeight(int edge) {
+		return weights != null ? weights[edge] : mapped.weights.get(edge);
+	}
+
+	/**
+	 * Builds the reverse of this graph, in which every road points the other way.
+	 * The roads entering vertex v here are the roads leaving v in the result.
+	 *
+	 * @return a new compact graph with every edge reversed
+	 */
+	public CompactCityGraph reverse() {
+		int numEdges = getNumEdges();
+		int[] reverseOffsets = new int[numVertices + 1];
+		for (int e = 0; e < numEdges; e++) {
+			reverseOffsets[getTarget(e) + 1]++; // Count the roads entering each vertex
+		}
+		for (int v = 0; v < numVertices; v++) {
+			reverseOffsets[v + 1] += reverseOffsets[v]; // Running total of in-degrees
+		}
+		int[] next = Arrays.copyOf(reverseOffsets, numVertices); // Next free slot of each vertex
+		int[] reverseTargets = new int[numEdges];
+		int[] reverseWeights = new int[numEdges];
+		for (int v = 0; v < numVertices; v++) {
+			for (int e = getEdgeStart(v), end = getEdgeEnd(v); e < end; e++) {
+				int slot = next[getTarget(e)]++;
+				reverseTargets[slot] = v; // The reversed road leads back to v
+				reverseWeights[slot] = getWeight(e);
+			}
+		}
+		return new CompactCityGraph(reverseOffsets, reverseTargets, reverseWeights);
+	}
+
+	/**
+	 * Builds a copy of this graph with the vertices renumbered. Vertex v here is
+	 * vertex newIds[v] in the result, and the roads of each vertex keep their order.
+	 *
+	 * @param newIds the new index of each vertex, a permutation of 0 to
+	 *               getNumVertices() - 1
+	 * @return a new compact graph with the vertices renumbered
+	 */
+	public CompactCityGraph permute(int[] newIds) {
+		int[] originalIds = new int[numVertices];
+		for (int v = 0; v < numVertices; v++) {
+			originalIds[newIds[v]] = v; // Invert the permutation
+		}
+		int[] permutedOffsets = new int[numVertices + 1];
+		int[] permutedTargets = new int[getNumEdges()];
+		int[] permutedWeights = new int[getNumEdges()];
+		for (int v = 0; v < numVertices; v++) {
+			int original = originalIds[v];
+			int slot = permutedOffsets[v];
+			for (int e = getEdgeStart(original), end = getEdgeEnd(original); e < end; e++) {
+				permutedTargets[slot] = newIds[getTarget(e)]; // Road to the renumbered destination
+				permutedWeights[slot] = getWeight(e);
+				slot++;
+			}
+			permutedOffsets[v + 1] = slot;
+		}
+		return new CompactCityGraph(permutedOffsets, permutedTargets, permutedWeights);
+	}
+
+	/**
+	 * Builds a list of Edge objects for the roads leaving the specified vertex, for
+	 * code that still works with CityGraph.getEdges.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return a new list of the edges leaving the vertex
+	 */
+	List<CityGraph.Edge> getEdgeList(int vertex) {
+		List<CityGraph.Edge> edges = new ArrayList<>(getEdgeEnd(vertex) - getEdgeStart(vertex));
+		for (int e = getEdgeStart(vertex); e < getEdgeEnd(vertex); e++) {
+			edges.add(new CityGraph.Edge(getTarget(e), getWeight(e)));
+		}
+		return edges;
+	}
+}
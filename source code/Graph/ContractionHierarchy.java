@@ -0,0 +1,441 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * ContractionHierarchy class holds the result of preprocessing a city graph for
+ * fast exact shortest path queries. Vertices are contracted one at a time in
+ * order of importance; when a vertex is removed, shortcut edges are added
+ * between its neighbors wherever it lay on the only shortest path between them.
+ *
+ * The hierarchy keeps two upward graphs: the edges leaving each vertex towards
+ * more important vertices, and the edges entering each vertex from more
+ * important vertices, reversed. A query only searches upward from both ends, see
+ * ContractionHierarchyQuery. Each edge records the vertex it bypasses, or -1 for
+ * an original road, so routes can be unpacked back into the original roads.
+ *
+ * Building is slow and done offline; save and load persist the result.
+ */
+public class ContractionHierarchy {
+	static final int MAGIC = 0x43484746; // "CHGF"
+	static final int VERSION = 1; // Version of the file layout
+	private static final int MAX_WITNESS_SETTLED = 500; // Work limit of one witness search
+
+	int numVertices; // Number of vertices in the graph
+	int[] rank; // Position of each vertex in the contraction order
+	int[] upOffsets, upTargets, upWeights, upMiddles; // Edges to more important vertices
+	int[] downOffsets, downTargets, downWeights, downMiddles; // Reversed edges from more important vertices
+
+	private ContractionHierarchy() {
+	}
+
+	/**
+	 * Contracts every vertex of the graph and builds the hierarchy.
+	 *
+	 * @param graph the compact city graph to preprocess
+	 * @return the contraction hierarchy of the graph
+	 */
+	public static ContractionHierarchy build(CompactCityGraph graph) {
+		return new Builder(graph).build();
+	}
+
+	/**
+	 * Gets the number of vertices in the graph.
+	 *
+	 * @return the number of vertices
+	 */
+	public int getNumVertices() {
+		return numVertices;
+	}
+
+	/**
+	 * Gets the number of edges in the hierarchy, original roads and shortcuts.
+	 *
+	 * @return the number of edges
+	 */
+	public int getNumEdges() {
+		return upTargets.length + downTargets.length;
+	}
+
+	/**
+	 * Gets the position of the specified vertex in the contraction order.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the rank of the vertex, higher is more important
+	 */
+	public int getRank(int vertex) {
+		return rank[vertex];
+	}
+
+	/**
+	 * Writes the hierarchy to the given file, replacing it if it exists.
+	 *
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path path) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(numVertices);
+			for (int[] array : new int[][] { rank, upOffsets, upTargets, upWeights, upMiddles,
+					downOffsets, downTargets, downWeights, downMiddles }) {
+				out.writeInt(array.length); // Length prefix of each array
+				for (int value : array) {
+					out.writeInt(value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a hierarchy written by save.
+	 *
+	 * @param path the file to read
+	 * @return the contraction hierarchy stored in the file
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a hierarchy file of a
+	 *                                  supported version
+	 */
+	public static ContractionHierarchy load(Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IllegalArgumentException("Not a contraction hierarchy file: " + path);
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unsupported contraction hierarchy file version: " + version);
+			}
+			ContractionHierarchy hierarchy = new ContractionHierarchy();
+			hierarchy.numVertices = in.readInt();
+			hierarchy.rank = readArray(in);
+			hierarchy.upOffsets = readArray(in);
+			hierarchy.upTargets = readArray(in);
+			hierarchy.upWeights = readArray(in);
+			hierarchy.upMiddles = readArray(in);
+			hierarchy.downOffsets = readArray(in);
+			hierarchy.downTargets = readArray(in);
+			hierarchy.downWeights = readArray(in);
+			hierarchy.downMiddles = readArray(in);
+			return hierarchy;
+		}
+	}
+
+	/**
+	 * Reads a length-prefixed array of ints.
+	 *
+	 * @param in the stream to read from
+	 * @return the array read
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static int[] readArray(DataInputStream in) throws IOException {
+		int[] array = new int[in.readInt()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = in.readInt();
+		}
+		return array;
+	}
+
+	/**
+	 * Finds the edge from one vertex to another in a CSR edge set.
+	 *
+	 * @return the index of the edge, or -1 if there is none
+	 */
+	private static int findEdge(int[] offsets, int[] targets, int from, int to) {
+		for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+			if (targets[e] == to) {
+				return e;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Appends the original vertices along the hierarchy edge from one vertex to
+	 * another, not including the start vertex.
+	 *
+	 * @param from   the start of the edge
+	 * @param to     the end of the edge
+	 * @param middle the vertex the edge bypasses, or -1 for an original road
+	 * @param route  the list receiving the vertices
+	 */
+	void unpackEdge(int from, int to, int middle, IntList route) {
+		IntList stack = new IntList(); // Pending edges as (from, to, middle) triples, last on top
+		stack.add(from);
+		stack.add(to);
+		stack.add(middle);
+		while (!stack.isEmpty()) {
+			int m = stack.removeLast(), w = stack.removeLast(), u = stack.removeLast(); // Pop the top triple
+			if (m < 0) {
+				route.add(w); // Original road
+				continue;
+			}
+			// The bypassed vertex is less important than both ends, so u -> m is stored
+			// reversed at m and m -> w is stored upward at m
+			int second = findEdge(upOffsets, upTargets, m, w);
+			int first = findEdge(downOffsets, downTargets, m, u);
+			stack.add(m); // Push the second half first so the first half is unpacked first
+			stack.add(w);
+			stack.add(upMiddles[second]);
+			stack.add(u);
+			stack.add(m);
+			stack.add(downMiddles[first]);
+		}
+	}
+
+	/**
+	 * Builder performs the contraction. It keeps a dynamic copy of the graph from
+	 * which contracted vertices are removed and to which shortcuts are added.
+	 */
+	private static class Builder {
+		private int numVertices;
+		private DynamicGraph out; // Edges leaving each remaining vertex
+		private DynamicGraph in; // Edges entering each remaining vertex
+		private int[] deletedNeighbors; // Number of contracted neighbors of each vertex
+		private IntList upSources = new IntList(), upTargets = new IntList(), upWeights = new IntList(), upMiddles = new IntList();
+		private IntList downSources = new IntList(), downTargets = new IntList(), downWeights = new IntList(), downMiddles = new IntList();
+
+		private StampedScratch witnessScratch; // Witness search state, stamped so it does not need clearing
+
+		Builder(CompactCityGraph graph) {
+			this.numVertices = graph.getNumVertices();
+			this.out = new DynamicGraph(numVertices);
+			this.in = new DynamicGraph(numVertices);
+			for (int v = 0; v < numVertices; v++) {
+				for (int e = graph.getEdgeStart(v), end = graph.getEdgeEnd(v); e < end; e++) {
+					addEdge(v, graph.getTarget(e), graph.getWeight(e), -1); // Original road
+				}
+			}
+			this.deletedNeighbors = new int[numVertices];
+			this.witnessScratch = new StampedScratch(numVertices);
+		}
+
+		ContractionHierarchy build() {
+			ContractionHierarchy hierarchy = new ContractionHierarchy();
+			hierarchy.numVertices = numVertices;
+			hierarchy.rank = new int[numVertices];
+
+			IndexedMinHeap order = new IndexedMinHeap(numVertices); // Remaining vertices by priority
+			for (int v = 0; v < numVertices; v++) {
+				order.insertOrDecrease(v, priority(v));
+			}
+			int nextRank = 0;
+			while (!order.isEmpty()) {
+				int v = order.pollMin();
+				int priority = priority(v); // Neighbors may have changed since it was queued
+				if (!order.isEmpty() && priority > order.peekMinKey()) {
+					order.insertOrDecrease(v, priority); // No longer the least important, try again later
+					continue;
+				}
+				contract(v);
+				hierarchy.rank[v] = nextRank++;
+			}
+
+			hierarchy.upOffsets = new int[numVertices + 1];
+			hierarchy.upTargets = new int[upTargets.size()];
+			hierarchy.upWeights = new int[upTargets.size()];
+			hierarchy.upMiddles = new int[upTargets.size()];
+			toCsr(upSources, upTargets, upWeights, upMiddles,
+					hierarchy.upOffsets, hierarchy.upTargets, hierarchy.upWeights, hierarchy.upMiddles);
+			hierarchy.downOffsets = new int[numVertices + 1];
+			hierarchy.downTargets = new int[downTargets.size()];
+			hierarchy.downWeights = new int[downTargets.size()];
+			hierarchy.downMiddles = new int[downTargets.size()];
+			toCsr(downSources, downTargets, downWeights, downMiddles,
+					hierarchy.downOffsets, hierarchy.downTargets, hierarchy.downWeights, hierarchy.downMiddles);
+			return hierarchy;
+		}
+
+		/**
+		 * Computes how attractive it is to contract a vertex next, lower is better.
+		 */
+		private int priority(int v) {
+			int shortcuts = shortcuts(v, false);
+			return shortcuts - in.size[v] - out.size[v] + deletedNeighbors[v];
+		}
+
+		/**
+		 * Removes a vertex from the dynamic graph, adding the shortcuts it needs and
+		 * recording its remaining edges as hierarchy edges.
+		 */
+		private void contract(int v) {
+			shortcuts(v, true);
+			for (int i = 0; i < out.size[v]; i++) {
+				int w = out.to[v][i];
+				upSources.add(v); // Edge to a more important vertex
+				upTargets.add(w);
+				upWeights.add(out.weight[v][i]);
+				upMiddles.add(out.middle[v][i]);
+				in.remove(w, v);
+				deletedNeighbors[w]++;
+			}
+			for (int i = 0; i < in.size[v]; i++) {
+				int u = in.to[v][i];
+				downSources.add(v); // Edge from a more important vertex, stored reversed
+				downTargets.add(u);
+				downWeights.add(in.weight[v][i]);
+				downMiddles.add(in.middle[v][i]);
+				out.remove(u, v);
+				deletedNeighbors[u]++;
+			}
+		}
+
+		/**
+		 * Counts, and optionally adds, the shortcuts needed to remove a vertex. A
+		 * shortcut u -> w is needed unless a witness search finds a path from u to w
+		 * that avoids v and is no longer than the path through v.
+		 */
+		private int shortcuts(int v, boolean add) {
+			int count = 0;
+			for (int i = 0; i < in.size[v]; i++) {
+				int u = in.to[v][i];
+				int toV = in.weight[v][i];
+				int limit = -1; // Longest path through v that needs a witness
+				for (int j = 0; j < out.size[v]; j++) {
+					if (out.to[v][j] != u) {
+						limit = Math.max(limit, toV + out.weight[v][j]);
+					}
+				}
+				if (limit < 0) {
+					continue; // No neighbor pairs through u
+				}
+				witnessSearch(u, v, limit);
+				for (int j = 0; j < out.size[v]; j++) {
+					int w = out.to[v][j];
+					int through = toV + out.weight[v][j];
+					if (w != u && witness(w) > through) {
+						count++;
+						if (add) {
+							addEdge(u, w, through, v);
+						}
+					}
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Runs a bounded Dijkstra search from the source in the remaining graph,
+		 * ignoring the vertex being contracted.
+		 */
+		private void witnessSearch(int source, int skip, int limit) {
+			witnessScratch.nextSearch();
+			IndexedMinHeap witnessHeap = witnessScratch.heap;
+			witnessScratch.relax(source, 0);
+			int settled = 0;
+			while (!witnessHeap.isEmpty() && witnessHeap.peekMinKey() <= limit && settled++ < MAX_WITNESS_SETTLED) {
+				int x = witnessHeap.pollMin();
+				for (int i = 0; i < out.size[x]; i++) {
+					int y = out.to[x][i];
+					if (y != skip) {
+						witnessScratch.relax(y, witnessScratch.distances[x] + out.weight[x][i]);
+					}
+				}
+			}
+			witnessHeap.clear();
+		}
+
+		/**
+		 * Gets the distance the last witness search found to a vertex.
+		 */
+		private int witness(int vertex) {
+			return witnessScratch.distance(vertex);
+		}
+
+		/**
+		 * Adds an edge to the dynamic graph, keeping only the shorter of parallel edges.
+		 */
+		private void addEdge(int from, int to, int weight, int middle) {
+			if (from != to) { // Loops never lie on a shortest path
+				out.addOrImprove(from, to, weight, middle);
+				in.addOrImprove(to, from, weight, middle);
+			}
+		}
+
+		/**
+		 * Sorts edges collected as (source, target, weight, middle) lists into CSR arrays.
+		 */
+		private void toCsr(IntList sources, IntList targets, IntList weights, IntList middles,
+				int[] offsets, int[] csrTargets, int[] csrWeights, int[] csrMiddles) {
+			for (int i = 0; i < sources.size(); i++) {
+				offsets[sources.get(i) + 1]++; // Count the edges of each vertex
+			}
+			for (int v = 0; v < numVertices; v++) {
+				offsets[v + 1] += offsets[v];
+			}
+			int[] next = Arrays.copyOf(offsets, numVertices);
+			for (int i = 0; i < sources.size(); i++) {
+				int slot = next[sources.get(i)]++;
+				csrTargets[slot] = targets.get(i);
+				csrWeights[slot] = weights.get(i);
+				csrMiddles[slot] = middles.get(i);
+			}
+		}
+	}
+
+	/**
+	 * DynamicGraph holds one growable edge list per vertex.
+	 */
+	private static class DynamicGraph {
+		int[][] to; // Neighbor of each edge
+		int[][] weight; // Weight of each edge
+		int[][] middle; // Bypassed vertex of each edge, -1 for an original road
+		int[] size; // Number of edges of each vertex
+
+		DynamicGraph(int numVertices) {
+			this.to = new int[numVertices][];
+			this.weight = new int[numVertices][];
+			this.middle = new int[numVertices][];
+			this.size = new int[numVertices];
+			for (int v = 0; v < numVertices; v++) {
+				to[v] = new int[2];
+				weight[v] = new int[2];
+				middle[v] = new int[2];
+			}
+		}
+
+		/**
+		 * Adds an edge, or shortens the existing edge to the same neighbor.
+		 */
+		void addOrImprove(int v, int neighbor, int w, int m) {
+			for (int i = 0; i < size[v]; i++) {
+				if (to[v][i] == neighbor) {
+					if (w < weight[v][i]) {
+						weight[v][i] = w;
+						middle[v][i] = m;
+					}
+					return;
+				}
+			}
+			if (size[v] == to[v].length) {
+				to[v] = Arrays.copyOf(to[v], size[v] * 2);
+				weight[v] = Arrays.copyOf(weight[v], size[v] * 2);
+				middle[v] = Arrays.copyOf(middle[v], size[v] * 2);
+			}
+			to[v][size[v]] = neighbor;
+			weight[v][size[v]] = w;
+			middle[v][size[v]] = m;
+			size[v]++;
+		}
+
+		/**
+		 * Removes the edge to the given neighbor, if any.
+		 */
+		void remove(int v, int neighbor) {
+			for (int i = 0; i < size[v]; i++) {
+				if (to[v][i] == neighbor) {
+					int last = --size[v]; // Move the last edge into the gap
+					to[v][i] = to[v][last];
+					weight[v][i] = weight[v][last];
+					middle[v][i] = middle[v][last];
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * ContractionHierarchyQuery class answers exact shortest distance and route
+ * queries using a ContractionHierarchy. It runs Dijkstra's algorithm upward
+ * from the origin and upward over the reversed edges from the destination; the
+ * shortest route meets at its most important vertex, so both searches stay in
+ * the small top part of the hierarchy.
+ *
+ * An instance keeps its arrays between queries and is not thread-safe; use one
+ * per thread over a shared hierarchy.
+ */
+public class ContractionHierarchyQuery {
+	private ContractionHierarchy hierarchy; // Preprocessed graph
+	private Side forward; // Upward search from the origin
+	private Side backward; // Upward search from the destination over reversed edges
+	private int meeting; // Vertex where the best route of the last query meets, -1 if none
+	private int settledCount; // Vertices settled by the last query
+
+	/**
+	 * Constructs a query engine over the given hierarchy.
+	 *
+	 * @param hierarchy the contraction hierarchy
+	 */
+	public ContractionHierarchyQuery(ContractionHierarchy hierarchy) {
+		this.hierarchy = hierarchy;
+		this.forward = new Side(hierarchy.numVertices, hierarchy.upOffsets, hierarchy.upTargets,
+				hierarchy.upWeights);
+		this.backward = new Side(hierarchy.numVertices, hierarchy.downOffsets, hierarchy.downTargets,
+				hierarchy.downWeights);
+	}
+
+	/**
+	 * Finds the shortest distance from the origin to the destination.
+	 *
+	 * @param source the index of the origin vertex
+	 * @param target the index of the destination vertex
+	 * @return the shortest distance, or Integer.MAX_VALUE if the destination is
+	 *         unreachable
+	 */
+	public int distance(int source, int target) {
+		settledCount = 0;
+		forward.start(source);
+		backward.start(target);
+		long best = Long.MAX_VALUE; // Length of the best route found so far
+		meeting = -1;
+
+		while (true) {
+			boolean forwardOpen = !forward.heap.isEmpty() && forward.heap.peekMinKey() < best;
+			boolean backwardOpen = !backward.heap.isEmpty() && backward.heap.peekMinKey() < best;
+			if (!forwardOpen && !backwardOpen) {
+				break; // Neither side can improve the best route
+			}
+			boolean forwardTurn = forwardOpen
+					&& (!backwardOpen || forward.heap.peekMinKey() <= backward.heap.peekMinKey());
+			Side side = forwardTurn ? forward : backward;
+			Side other = forwardTurn ? backward : forward;
+			int vertex = side.settleNext();
+			settledCount++;
+			if (other.isReached(vertex)) {
+				long through = (long) side.distances[vertex] + other.distances[vertex];
+				if (through < best) {
+					best = through; // The searches meet at this vertex
+					meeting = vertex;
+				}
+			}
+		}
+		forward.heap.clear();
+		backward.heap.clear();
+		return best == Long.MAX_VALUE ? Integer.MAX_VALUE : (int) best;
+	}
+
+	/**
+	 * Finds the shortest route from the origin to the destination, with every
+	 * shortcut unpacked into the original roads.
+	 *
+	 * @param source the index of the origin vertex
+	 * @param target the index of the destination vertex
+	 * @return the vertices on the route starting with the origin and ending with
+	 *         the destination, or an empty array if the destination is unreachable
+	 */
+	public int[] route(int source, int target) {
+		if (distance(source, target) == Integer.MAX_VALUE) {
+			return new int[0];
+		}
+		IntList upward = new IntList(); // Hierarchy edges from the origin to the meeting vertex, reversed
+		for (int v = meeting; v != source; v = forward.predecessors[v]) {
+			upward.add(forward.predecessorEdges[v]);
+			upward.add(v);
+		}
+		IntList route = new IntList();
+		route.add(source);
+		while (!upward.isEmpty()) {
+			int v = upward.removeLast();
+			int edge = upward.removeLast();
+			hierarchy.unpackEdge(forward.predecessors[v], v, hierarchy.upMiddles[edge], route);
+		}
+		for (int v = meeting; v != target; v = backward.predecessors[v]) {
+			int next = backward.predecessors[v]; // The original road runs from v to next
+			hierarchy.unpackEdge(v, next, hierarchy.downMiddles[backward.predecessorEdges[v]], route);
+		}
+		return route.toArray();
+	}
+
+	/**
+	 * Gets the number of vertices settled by the last query, counting both sides.
+	 *
+	 * @return the number of settled vertices
+	 */
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Side holds the state of one of the two upward searches.
+	 */
+	private static class Side extends StampedScratch {
+		int[] offsets, targets, weights; // Upward edges searched by this side
+		int[] predecessors; // Previous vertex on the search tree
+		int[] predecessorEdges; // Hierarchy edge used to reach each vertex
+
+		Side(int numVertices, int[] offsets, int[] targets, int[] weights) {
+			super(numVertices);
+			this.offsets = offsets;
+			this.targets = targets;
+			this.weights = weights;
+			this.predecessors = new int[numVertices];
+			this.predecessorEdges = new int[numVertices];
+		}
+
+		/**
+		 * Starts a new search at the given vertex.
+		 */
+		void start(int source) {
+			nextSearch();
+			relax(source, 0);
+			predecessors[source] = -1;
+		}
+
+		/**
+		 * Settles the closest frontier vertex and relaxes its upward edges.
+		 *
+		 * @return the settled vertex
+		 */
+		int settleNext() {
+			int vertex = heap.pollMin();
+			int base = distances[vertex];
+			for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+				int destination = targets[e];
+				if (relax(destination, base + weights[e])) {
+					predecessors[destination] = vertex;
+					predecessorEdges[destination] = e;
+				}
+			}
+			return vertex;
+		}
+	}
+}
@@ -0,0 +1,179 @@
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * DeltaStepping class finds single-source shortest distances in parallel with
+ * the delta-stepping algorithm. Vertices are kept in buckets of width delta by
+ * tentative distance. All vertices of the lowest bucket are processed at once:
+ * their light edges (weight at most delta) are relaxed in parallel until the
+ * bucket stays empty, then their heavy edges are relaxed in parallel. Distances
+ * are lowered with compare-and-set, so threads never lock.
+ *
+ * The result is the same int[] of distances as DijkstraAlgorithm. A small delta
+ * approaches Dijkstra's order with little parallelism; a large one gives more
+ * parallel work but more re-relaxations. The average edge weight is a sensible
+ * starting point.
+ */
+public class DeltaStepping {
+	private static final int VERTICES_PER_TASK = 256; // Frontier vertices relaxed by one task without splitting
+
+	private DeltaStepping() {
+	}
+
+	/**
+	 * Finds the shortest distances from the source to all vertices using the
+	 * common fork-join pool.
+	 *
+	 * @param graph  the compact city graph
+	 * @param source the index of the central warehouse
+	 * @param delta  the bucket width, at least 1
+	 * @return an array containing the shortest distances from the source, with
+	 *         Integer.MAX_VALUE for unreachable vertices
+	 */
+	public static int[] shortestPaths(CompactCityGraph graph, int source, int delta) {
+		return shortestPaths(graph, source, delta, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Finds the shortest distances from the source to all vertices, running the
+	 * relaxations on the given pool.
+	 *
+	 * @param graph  the compact city graph
+	 * @param source the index of the central warehouse
+	 * @param delta  the bucket width, at least 1
+	 * @param pool   the pool to run the relaxations on
+	 * @return an array containing the shortest distances from the source, with
+	 *         Integer.MAX_VALUE for unreachable vertices
+	 * @throws IllegalArgumentException if delta is not positive
+	 */
+	public static int[] shortestPaths(CompactCityGraph graph, int source, int delta, ForkJoinPool pool) {
+		if (delta < 1) {
+			throw new IllegalArgumentException("Bucket width must be positive: " + delta);
+		}
+		int numVertices = graph.getNumVertices();
+		AtomicIntegerArray distances = new AtomicIntegerArray(numVertices);
+		for (int v = 0; v < numVertices; v++) {
+			distances.set(v, Integer.MAX_VALUE); // Set all distances to infinity initially
+		}
+		distances.set(source, 0);
+
+		TreeMap<Integer, IntList> buckets = new TreeMap<>(); // Non-empty buckets by index
+		IntList first = new IntList();
+		first.add(source);
+		buckets.put(0, first);
+		int[] roundMark = new int[numVertices]; // Last inner round each vertex was processed in
+		int[] bucketMark = new int[numVertices]; // Last bucket round each vertex was settled in
+		int round = 0, bucketRound = 0;
+
+		while (!buckets.isEmpty()) {
+			int index = buckets.firstKey(); // Lowest non-empty bucket
+			bucketRound++;
+			IntList settled = new IntList(); // Vertices removed from this bucket
+			IntList entries;
+			while ((entries = buckets.remove(index)) != null) {
+				round++;
+				IntList frontier = new IntList();
+				for (int i = 0; i < entries.size(); i++) {
+					int v = entries.get(i);
+					// Skip stale entries whose distance has since moved to a lower bucket, and duplicates
+					if (distances.get(v) / delta == index && roundMark[v] != round) {
+						roundMark[v] = round;
+						frontier.add(v);
+						if (bucketMark[v] != bucketRound) {
+							bucketMark[v] = bucketRound;
+							settled.add(v);
+						}
+					}
+				}
+				IntList improved = pool.invoke(new RelaxTask(graph, distances, delta, true, frontier, 0, frontier.size()));
+				addToBuckets(buckets, improved, distances, delta);
+			}
+			IntList improved = pool.invoke(new RelaxTask(graph, distances, delta, false, settled, 0, settled.size()));
+			addToBuckets(buckets, improved, distances, delta);
+		}
+
+		int[] result = new int[numVertices];
+		for (int v = 0; v < numVertices; v++) {
+			result[v] = distances.get(v);
+		}
+		return result;
+	}
+
+	/**
+	 * Puts every improved vertex into the bucket of its current distance.
+	 */
+	private static void addToBuckets(Map<Integer, IntList> buckets, IntList improved, AtomicIntegerArray distances,
+			int delta) {
+		for (int i = 0; i < improved.size(); i++) {
+			int v = improved.get(i);
+			buckets.computeIfAbsent(distances.get(v) / delta, k -> new IntList()).add(v);
+		}
+	}
+
+	/**
+	 * RelaxTask relaxes the light or heavy edges of a range of frontier vertices,
+	 * splitting the range in half until it is small enough, and returns the
+	 * vertices whose distance it lowered.
+	 */
+	private static class RelaxTask extends RecursiveTask<IntList> {
+		private static final long serialVersionUID = 1L;
+
+		private CompactCityGraph graph;
+		private AtomicIntegerArray distances;
+		private int delta;
+		private boolean light; // Relax edges of weight at most delta, otherwise the heavier ones
+		private IntList frontier;
+		private int from, to; // Range of frontier vertices handled by this task
+
+		RelaxTask(CompactCityGraph graph, AtomicIntegerArray distances, int delta, boolean light, IntList frontier,
+				int from, int to) {
+			this.graph = graph;
+			this.distances = distances;
+			this.delta = delta;
+			this.light = light;
+			this.frontier = frontier;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected IntList compute() {
+			if (to - from > VERTICES_PER_TASK) {
+				int mid = (from + to) >>> 1; // Split the range in half
+				RelaxTask left = new RelaxTask(graph, distances, delta, light, frontier, from, mid);
+				left.fork();
+				IntList improved = new RelaxTask(graph, distances, delta, light, frontier, mid, to).compute();
+				IntList leftImproved = left.join();
+				for (int i = 0; i < leftImproved.size(); i++) {
+					improved.add(leftImproved.get(i));
+				}
+				return improved;
+			}
+			IntList improved = new IntList();
+			for (int i = from; i < to; i++) {
+				int u = frontier.get(i);
+				int base = distances.get(u);
+				for (int e = graph.getEdgeStart(u), end = graph.getEdgeEnd(u); e < end; e++) {
+					int weight = graph.getWeight(e);
+					if ((weight <= delta) != light) {
+						continue; // Edge belongs to the other phase
+					}
+					int destination = graph.getTarget(e);
+					int newDistance = base + weight;
+					int current = distances.get(destination);
+					while (newDistance < current) { // Lower the distance unless another thread got lower first
+						if (distances.compareAndSet(destination, current, newDistance)) {
+							improved.add(destination);
+							break;
+						}
+						current = distances.get(destination);
+					}
+				}
+			}
+			return improved;
+		}
+	}
+}
@@ -4,7 +4,8 @@ import java.util.List;
 /**
  * DijkstraAlgorithm class implements Dijkstra's algorithm to find the shortest
  * delivery routes from the central warehouse to all delivery locations based on
- * distance.
+ * distance. The int engines assume every shortest distance fits in an int; use
+ * dijkstraLong for networks where routes can be longer.
  */
 public class DijkstraAlgorithm {
 	/**
@@ -54,4 +55,190 @@ public class DijkstraAlgorithm {
 		return distances; // Return the array containing the shortest distances from the central warehouse to all locations
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Finds the shortest delivery routes from the central warehouse to all delivery
+	 * locations using Dijkstra's algorithm driven by an indexed binary heap. Gives
+	 * the same distances as {@link #dijkstra(CityGraph, int)} in O((V + E) log V)
+	 * time instead of O(V^2).
+	 *
+	 * @param graph  the city graph representing warehouses, delivery locations, and
+	 *               roads
+	 * @param source the index of the central warehouse
+	 * @return an array containing the shortest distances from the central warehouse
+	 *         to all locations
+	 */
+	public static int[] dijkstraHeap(CityGraph graph, int source) {
+		return dijkstraHeap(graph, source, null);
+	}
+
+	/**
+	 * Finds the shortest delivery routes from the central warehouse to all delivery
+	 * locations and records the predecessor of each location on its shortest route.
+	 *
+	 * @param graph        the city graph representing warehouses, delivery
+	 *                     locations, and roads
+	 * @param source       the index of the central warehouse
+	 * @param predecessors array filled with the previous vertex on the shortest
+	 *                     route to each location, or -1 for the source and
+	 *                     unreachable locations; may be null
+	 * @return an array containing the shortest distances from the central warehouse
+	 *         to all locations
+	 */
+	public static int[] dijkstraHeap(CityGraph graph, int source, int[] predecessors) {
+		if (graph.isFrozen()) {
+			return dijkstraHeap(graph.freeze(), source, predecessors); // Run over the compact form directly
+		}
+		int numVertices = graph.getNumVertices();// Get the number of vertices in the graph
+		if (predecessors != null) {
+			Arrays.fill(predecessors, -1); // No predecessors known yet
+		}
+
+		int[] distances = new int[numVertices];
+		boolean[] visited = new boolean[numVertices];
+		IndexedMinHeap heap = new IndexedMinHeap(numVertices); // Queue of reached but unvisited vertices
+
+		Arrays.fill(distances, Integer.MAX_VALUE);// Set all distances to infinity initially
+		distances[source] = 0;// Distance from the source vertex to itself is 0
+		heap.insertOrDecrease(source, 0);
+
+		while (!heap.isEmpty()) {
+			int minIndex = heap.pollMin(); // Closest unvisited vertex
+			visited[minIndex] = true;
+			// Update distances to adjacent vertices if a shorter path is found
+			for (CityGraph.Edge edge : graph.getEdges(minIndex)) {
+				int newDistance = distances[minIndex] + edge.weight;
+				if (!visited[edge.destination] && newDistance < distances[edge.destination]) {
+					distances[edge.destination] = newDistance;
+					if (predecessors != null) {
+						predecessors[edge.destination] = minIndex; // Route now arrives through minIndex
+					}
+					heap.insertOrDecrease(edge.destination, newDistance);
+				}
+			}
+		}
+
+		return distances; // Return the array containing the shortest distances from the central warehouse to all locations
+	}
+
+	/**
+	 * Finds the shortest delivery routes from the central warehouse to all delivery
+	 * locations in a compact graph using Dijkstra's algorithm driven by an indexed
+	 * binary heap.
+	 *
+	 * @param graph  the compact city graph
+	 * @param source the index of the central warehouse
+	 * @return an array containing the shortest distances from the central warehouse
+	 *         to all locations
+	 */
+	public static int[] dijkstraHeap(CompactCityGraph graph, int source) {
+		return dijkstraHeap(graph, source, null);
+	}
+
+	/**
+	 * Finds the shortest delivery routes from the central warehouse to all delivery
+	 * locations in a compact graph and records the predecessor of each location on
+	 * its shortest route.
+	 *
+	 * @param graph        the compact city graph
+	 * @param source       the index of the central warehouse
+	 * @param predecessors array filled with the previous vertex on the shortest
+	 *                     route to each location, or -1 for the source and
+	 *                     unreachable locations; may be null
+	 * @return an array containing the shortest distances from the central warehouse
+	 *         to all locations
+	 */
+	public static int[] dijkstraHeap(CompactCityGraph graph, int source, int[] predecessors) {
+		int numVertices = graph.getNumVertices();
+		int[] distances = new int[numVertices];
+		dijkstraHeap(graph, source, distances, predecessors, new IndexedMinHeap(numVertices), new boolean[numVertices]);
+		return distances;
+	}
+
+	/**
+	 * Runs Dijkstra's algorithm over a compact graph using caller-supplied scratch
+	 * space, so repeated searches do not allocate a heap and visited array each time.
+	 *
+	 * @param graph        the compact city graph
+	 * @param source       the index of the central warehouse
+	 * @param distances    array filled with the shortest distance to each vertex
+	 * @param predecessors array filled with the previous vertex on the shortest
+	 *                     route to each vertex, or -1; may be null
+	 * @param heap         an empty heap with room for every vertex, left empty
+	 * @param visited      scratch array with one slot per vertex, overwritten
+	 */
+	static void dijkstraHeap(CompactCityGraph graph, int source, int[] distances, int[] predecessors,
+			IndexedMinHeap heap, boolean[] visited) {
+		if (predecessors != null) {
+			Arrays.fill(predecessors, -1); // No predecessors known yet
+		}
+		Arrays.fill(visited, false);
+		Arrays.fill(distances, Integer.MAX_VALUE);// Set all distances to infinity initially
+		distances[source] = 0;// Distance from the source vertex to itself is 0
+		heap.insertOrDecrease(source, 0);
+
+		while (!heap.isEmpty()) {
+			int minIndex = heap.pollMin(); // Closest unvisited vertex
+			visited[minIndex] = true;
+			// Relax the roads leaving minIndex, stored contiguously in the CSR arrays
+			for (int e = graph.getEdgeStart(minIndex), end = graph.getEdgeEnd(minIndex); e < end; e++) {
+				int destination = graph.getTarget(e);
+				int newDistance = distances[minIndex] + graph.getWeight(e);
+				if (!visited[destination] && newDistance < distances[destination]) {
+					distances[destination] = newDistance;
+					if (predecessors != null) {
+						predecessors[destination] = minIndex; // Route now arrives through minIndex
+					}
+					heap.insertOrDecrease(destination, newDistance);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the shortest distances from the central warehouse to all locations in
+	 * a compact graph, adding them up in long so that routes longer than
+	 * Integer.MAX_VALUE do not overflow. Road weights stay int, which also suits
+	 * fixed-point fractional weights, see FixedPoint.
+	 *
+	 * @param graph        the compact city graph
+	 * @param source       the index of the central warehouse
+	 * @param predecessors array filled with the previous vertex on the shortest
+	 *                     route to each location, or -1 for the source and
+	 *                     unreachable locations; may be null
+	 * @return an array containing the shortest distances from the central warehouse
+	 *         to all locations, with Long.MAX_VALUE for unreachable locations
+	 */
+	public static long[] dijkstraLong(CompactCityGraph graph, int source, int[] predecessors) {
+		int numVertices = graph.getNumVertices();
+		if (predecessors != null) {
+			Arrays.fill(predecessors, -1); // No predecessors known yet
+		}
+
+		long[] distances = new long[numVertices];
+		boolean[] visited = new boolean[numVertices];
+		IndexedMinHeap heap = new IndexedMinHeap(numVertices); // Queue of reached but unvisited vertices
+
+		Arrays.fill(distances, Long.MAX_VALUE);// Set all distances to infinity initially
+		distances[source] = 0;// Distance from the source vertex to itself is 0
+		heap.insertOrDecrease(source, 0);
+
+		while (!heap.isEmpty()) {
+			int minIndex = heap.pollMin(); // Closest unvisited vertex
+			visited[minIndex] = true;
+			// Relax the roads leaving minIndex, stored contiguously in the CSR arrays
+			for (int e = graph.getEdgeStart(minIndex), end = graph.getEdgeEnd(minIndex); e < end; e++) {
+				int destination = graph.getTarget(e);
+				long newDistance = distances[minIndex] + graph.getWeight(e);
+				if (!visited[destination] && newDistance < distances[destination]) {
+					distances[destination] = newDistance;
+					if (predecessors != null) {
+						predecessors[destination] = minIndex; // Route now arrives through minIndex
+					}
+					heap.insertOrDecrease(destination, newDistance);
+				}
+			}
+		}
+
+		return distances;
+	}
+}
@@ -0,0 +1,226 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * DistanceMatrix class holds the shortest distances between a set of origins
+ * and a set of destinations, for example depots and stops, in one flat
+ * row-major block of ints. The block lives in one array on the Java heap or,
+ * for matrices that would strain the heap or exceed the largest Java array, in
+ * a series of direct buffers outside it.
+ *
+ * Rows are computed by parallel Dijkstra searches, one per origin, over the
+ * shared read-only graph. Each search stops as soon as every destination is
+ * settled instead of exploring the whole graph.
+ */
+public class DistanceMatrix {
+	private static final int MAX_HEAP_ENTRIES = Integer.MAX_VALUE - 8; // Largest Java array
+	private static final int CHUNK_BITS = 28; // Each direct buffer holds 2^28 entries, 1 GiB
+	private static final int ROWS_PER_TASK = 1; // Origins searched by one task without further splitting
+
+	private int rows; // Number of origins
+	private int columns; // Number of destinations
+	private int[] values; // Distances, row by row, null when off the heap
+	private IntBuffer[] chunks; // Distances, row by row, split over direct buffers; null when on the heap
+
+	/**
+	 * Constructs an empty matrix of the given shape.
+	 *
+	 * @param rows    the number of origins
+	 * @param columns the number of destinations
+	 * @param offHeap true to keep the values in direct buffers outside the Java heap
+	 * @throws IllegalArgumentException if the matrix is too large for the heap
+	 */
+	private DistanceMatrix(int rows, int columns, boolean offHeap) {
+		long entries = (long) rows * columns;
+		this.rows = rows;
+		this.columns = columns;
+		if (!offHeap) {
+			if (entries > MAX_HEAP_ENTRIES) {
+				throw new IllegalArgumentException("Distance matrix too large for the heap: " + rows + " x " + columns);
+			}
+			this.values = new int[(int) entries];
+			return;
+		}
+		int numChunks = (int) ((entries + (1L << CHUNK_BITS) - 1) >>> CHUNK_BITS);
+		this.chunks = new IntBuffer[numChunks];
+		for (int i = 0; i < numChunks; i++) {
+			long size = Math.min(1L << CHUNK_BITS, entries - ((long) i << CHUNK_BITS)); // Last chunk may be shorter
+			chunks[i] = ByteBuffer.allocateDirect((int) size * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+		}
+	}
+
+	/**
+	 * Computes the distances from every origin to every destination on the heap,
+	 * using the common fork-join pool.
+	 *
+	 * @param graph        the compact city graph
+	 * @param origins      the indices of the origin vertices, one row each
+	 * @param destinations the indices of the destination vertices, one column each
+	 * @return the distance matrix
+	 */
+	public static DistanceMatrix compute(CompactCityGraph graph, int[] origins, int[] destinations) {
+		return compute(graph, origins, destinations, false, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Computes the distances from every origin to every destination.
+	 *
+	 * @param graph        the compact city graph
+	 * @param origins      the indices of the origin vertices, one row each
+	 * @param destinations the indices of the destination vertices, one column each
+	 * @param offHeap      true to keep the matrix in direct buffers outside the
+	 *                     Java heap, which also allows more than Integer.MAX_VALUE
+	 *                     entries
+	 * @param pool         the pool to run the searches on
+	 * @return the distance matrix, with Integer.MAX_VALUE for unreachable pairs
+	 * @throws IllegalArgumentException if the matrix is too large for the heap
+	 */
+	public static DistanceMatrix compute(CompactCityGraph graph, int[] origins, int[] destinations, boolean offHeap,
+			ForkJoinPool pool) {
+		DistanceMatrix matrix = new DistanceMatrix(origins.length, destinations.length, offHeap);
+		int numVertices = graph.getNumVertices();
+		ScratchPool<StampedScratch> scratches = new ScratchPool<>(() -> new StampedScratch(numVertices, numVertices));
+		pool.invoke(new RowTask(graph, origins, destinations, matrix, scratches, 0, origins.length));
+		return matrix;
+	}
+
+	/**
+	 * Gets the shortest distance from an origin to a destination.
+	 *
+	 * @param row    the position of the origin in the origins array
+	 * @param column the position of the destination in the destinations array
+	 * @return the shortest distance, or Integer.MAX_VALUE if it is unreachable
+	 */
+	public int get(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			throw new IndexOutOfBoundsException("Entry (" + row + ", " + column + ") outside " + rows + " x " + columns);
+		}
+		long index = (long) row * columns + column;
+		if (values != null) {
+			return values[(int) index];
+		}
+		return chunks[(int) (index >>> CHUNK_BITS)].get((int) index & ((1 << CHUNK_BITS) - 1));
+	}
+
+	/**
+	 * Gets the number of origins.
+	 *
+	 * @return the number of rows
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Gets the number of destinations.
+	 *
+	 * @return the number of columns
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Checks if the matrix is stored outside the Java heap.
+	 *
+	 * @return true if the matrix is in direct buffers, false otherwise
+	 */
+	public boolean isOffHeap() {
+		return chunks != null;
+	}
+
+	/**
+	 * Stores one entry of the matrix.
+	 *
+	 * @param index    the row-major position of the entry
+	 * @param distance the distance to store
+	 */
+	private void set(long index, int distance) {
+		if (values != null) {
+			values[(int) index] = distance;
+		} else {
+			chunks[(int) (index >>> CHUNK_BITS)].put((int) index & ((1 << CHUNK_BITS) - 1), distance);
+		}
+	}
+
+	/**
+	 * Searches from the origin until every destination is settled and writes the
+	 * distances into the given row of the matrix. Destinations are the marked
+	 * entries of the scratch.
+	 *
+	 * @param graph        the compact city graph
+	 * @param origin       the index of the origin vertex
+	 * @param destinations the indices of the destination vertices
+	 * @param row          the row to fill
+	 * @param scratch      the search state of the calling thread
+	 */
+	private void computeRow(CompactCityGraph graph, int origin, int[] destinations, int row, StampedScratch scratch) {
+		scratch.nextSearch();
+		int remaining = 0; // Distinct destinations not yet settled
+		for (int destination : destinations) {
+			if (scratch.mark(destination)) {
+				remaining++;
+			}
+		}
+		IndexedMinHeap heap = scratch.heap;
+		scratch.relax(origin, 0);
+		while (!heap.isEmpty() && remaining > 0) {
+			int vertex = heap.pollMin();
+			if (scratch.isMarked(vertex)) {
+				remaining--; // Another destination settled
+			}
+			int base = scratch.distances[vertex];
+			for (int e = graph.getEdgeStart(vertex), end = graph.getEdgeEnd(vertex); e < end; e++) {
+				scratch.relax(graph.getTarget(e), base + graph.getWeight(e));
+			}
+		}
+		heap.clear();
+		long offset = (long) row * columns;
+		for (int column = 0; column < destinations.length; column++) {
+			set(offset + column, scratch.distance(destinations[column]));
+		}
+	}
+
+	/**
+	 * RowTask computes a range of rows, splitting the range in half until it is
+	 * small enough.
+	 */
+	private static class RowTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private CompactCityGraph graph;
+		private int[] origins, destinations;
+		private DistanceMatrix matrix;
+		private ScratchPool<StampedScratch> scratches; // Search state shared by the tasks of this call
+		private int from, to; // Range of rows handled by this task
+
+		RowTask(CompactCityGraph graph, int[] origins, int[] destinations, DistanceMatrix matrix,
+				ScratchPool<StampedScratch> scratches, int from, int to) {
+			this.graph = graph;
+			this.origins = origins;
+			this.destinations = destinations;
+			this.matrix = matrix;
+			this.scratches = scratches;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > ROWS_PER_TASK) {
+				int mid = (from + to) >>> 1; // Split the range in half
+				invokeAll(new RowTask(graph, origins, destinations, matrix, scratches, from, mid),
+						new RowTask(graph, origins, destinations, matrix, scratches, mid, to));
+				return;
+			}
+			StampedScratch scratch = scratches.take();
+			for (int row = from; row < to; row++) {
+				matrix.computeRow(graph, origins[row], destinations, row, scratch);
+			}
+			scratches.give(scratch);
+		}
+	}
+}
@@ -0,0 +1,278 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DynamicShortestPathTree class keeps the shortest distances and predecessors
+ * from the central warehouse up to date while roads are added, re-weighted or
+ * closed. Instead of rerunning Dijkstra's algorithm from scratch, each change
+ * repairs only the part of the tree it affects:
+ *
+ * - a road that got shorter is relaxed and the improvement is pushed forward
+ *   with Dijkstra's algorithm seeded at its end;
+ * - a tree road that got longer or was closed invalidates the subtree hanging
+ *   from it, and only that subtree is searched again, seeded from its
+ *   unaffected in-neighbors.
+ *
+ * All changes to the graph must go through this class so it can keep its
+ * index of incoming roads in step; the graph must not be frozen.
+ */
+public class DynamicShortestPathTree {
+	private CityGraph graph; // Graph being maintained
+	private int source; // Index of the central warehouse
+	private int[] distances; // Shortest distance from the source to each vertex
+	private int[] predecessors; // Previous vertex on the shortest route, -1 if none
+	private List<List<IncomingRoad>> incoming; // Roads entering each vertex
+	private IndexedMinHeap heap; // Queue used by the repairs
+	private int lastRepairSize; // Vertices settled by the last repair
+
+	/**
+	 * Constructs the tree by running Dijkstra's algorithm once from the source.
+	 *
+	 * @param graph  the city graph, which must not be frozen
+	 * @param source the index of the central warehouse
+	 * @throws IllegalStateException if the graph is frozen
+	 */
+	public DynamicShortestPathTree(CityGraph graph, int source) {
+		if (graph.isFrozen()) {
+			throw new IllegalStateException("Cannot maintain a frozen graph");
+		}
+		int numVertices = graph.getNumVertices();
+		this.graph = graph;
+		this.source = source;
+		this.predecessors = new int[numVertices];
+		this.distances = DijkstraAlgorithm.dijkstraHeap(graph, source, predecessors);
+		this.heap = new IndexedMinHeap(numVertices);
+		this.incoming = new ArrayList<>(numVertices);
+		for (int v = 0; v < numVertices; v++) {
+			incoming.add(new ArrayList<>());
+		}
+		for (int u = 0; u < numVertices; u++) {
+			for (CityGraph.Edge edge : graph.getEdges(u)) {
+				incoming.get(edge.destination).add(new IncomingRoad(u, edge.weight)); // Mirror of the road
+			}
+		}
+	}
+
+	/**
+	 * Adds a road and repairs the tree.
+	 *
+	 * @param from   the index of the source vertex of the road
+	 * @param to     the index of the destination vertex of the road
+	 * @param weight the weight of the road
+	 */
+	public void addRoad(int from, int to, int weight) {
+		graph.addEdge(from, to, weight);
+		incoming.get(to).add(new IncomingRoad(from, weight));
+		repair(from, to);
+	}
+
+	/**
+	 * Changes the weight of a road and repairs the tree.
+	 *
+	 * @param from   the index of the source vertex of the road
+	 * @param to     the index of the destination vertex of the road
+	 * @param weight the new weight of the road
+	 * @return true if the road exists, false otherwise
+	 */
+	public boolean updateRoad(int from, int to, int weight) {
+		if (!graph.setEdgeWeight(from, to, weight)) {
+			return false;
+		}
+		for (IncomingRoad road : incoming.get(to)) {
+			if (road.origin == from) {
+				road.weight = weight; // Keep the mirror in step
+			}
+		}
+		repair(from, to);
+		return true;
+	}
+
+	/**
+	 * Closes a road and repairs the tree.
+	 *
+	 * @param from the index of the source vertex of the road
+	 * @param to   the index of the destination vertex of the road
+	 * @return true if the road existed, false otherwise
+	 */
+	public boolean removeRoad(int from, int to) {
+		if (!graph.removeEdge(from, to)) {
+			return false;
+		}
+		incoming.get(to).removeIf(road -> road.origin == from);
+		repair(from, to);
+		return true;
+	}
+
+	/**
+	 * Gets the index of the vertex the tree is rooted at.
+	 *
+	 * @return the index of the central warehouse
+	 */
+	public int getSource() {
+		return source;
+	}
+
+	/**
+	 * Gets the shortest distance from the source to the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the shortest distance, or Integer.MAX_VALUE if the vertex is unreachable
+	 */
+	public int getDistance(int vertex) {
+		return distances[vertex];
+	}
+
+	/**
+	 * Checks if the specified vertex can be reached from the source.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return true if the vertex is reachable, false otherwise
+	 */
+	public boolean isReachable(int vertex) {
+		return distances[vertex] != Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Gets the previous vertex on the shortest route to the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the predecessor, or -1 for the source and unreachable vertices
+	 */
+	public int getPredecessor(int vertex) {
+		return predecessors[vertex];
+	}
+
+	/**
+	 * Copies the current distances.
+	 *
+	 * @return an array containing the shortest distances from the source
+	 */
+	public int[] getDistances() {
+		return Arrays.copyOf(distances, distances.length);
+	}
+
+	/**
+	 * Gets the number of vertices settled by the last repair, a measure of how much
+	 * of the tree the last change touched.
+	 *
+	 * @return the number of vertices settled
+	 */
+	public int getLastRepairSize() {
+		return lastRepairSize;
+	}
+
+	/**
+	 * Repairs the tree after the roads from one vertex to another changed.
+	 *
+	 * @param from the index of the source vertex of the changed roads
+	 * @param to   the index of the destination vertex of the changed roads
+	 */
+	private void repair(int from, int to) {
+		lastRepairSize = 0;
+		int weight = shortestRoad(from, to); // Current shortest road, Integer.MAX_VALUE if closed
+		long through = distances[from] == Integer.MAX_VALUE || weight == Integer.MAX_VALUE
+				? Long.MAX_VALUE : (long) distances[from] + weight;
+		if (through < distances[to]) {
+			distances[to] = (int) through; // The road now gives a shorter route
+			predecessors[to] = from;
+			heap.insertOrDecrease(to, distances[to]);
+			propagate();
+		} else if (predecessors[to] == from && through > distances[to]) {
+			rebuildSubtree(to); // The tree road got longer or was closed
+		}
+	}
+
+	/**
+	 * Invalidates the subtree rooted at the given vertex and searches it again from
+	 * the unaffected vertices that have roads into it.
+	 *
+	 * @param root the index of the root of the affected subtree
+	 */
+	private void rebuildSubtree(int root) {
+		IntList affected = new IntList(); // Vertices whose route runs through root
+		affected.add(root);
+		for (int i = 0; i < affected.size(); i++) {
+			int x = affected.get(i);
+			for (CityGraph.Edge edge : graph.getEdges(x)) {
+				if (predecessors[edge.destination] == x) {
+					predecessors[edge.destination] = -2; // Mark as collected so it is added once
+					affected.add(edge.destination);
+				}
+			}
+		}
+		for (int i = 0; i < affected.size(); i++) {
+			int x = affected.get(i);
+			distances[x] = Integer.MAX_VALUE;
+			predecessors[x] = -1;
+		}
+		for (int i = 0; i < affected.size(); i++) {
+			int x = affected.get(i);
+			for (IncomingRoad road : incoming.get(x)) { // Best entry from outside the subtree
+				int u = road.origin;
+				if (distances[u] != Integer.MAX_VALUE && distances[u] + road.weight < distances[x]) {
+					distances[x] = distances[u] + road.weight;
+					predecessors[x] = u;
+				}
+			}
+			if (distances[x] != Integer.MAX_VALUE) {
+				heap.insertOrDecrease(x, distances[x]);
+			}
+		}
+		propagate();
+	}
+
+	/**
+	 * Runs Dijkstra's algorithm from the vertices in the heap, lowering distances
+	 * wherever a shorter route is found.
+	 */
+	private void propagate() {
+		while (!heap.isEmpty()) {
+			int u = heap.pollMin();
+			lastRepairSize++;
+			for (CityGraph.Edge edge : graph.getEdges(u)) {
+				int newDistance = distances[u] + edge.weight;
+				if (newDistance < distances[edge.destination]) {
+					distances[edge.destination] = newDistance;
+					predecessors[edge.destination] = u;
+					heap.insertOrDecrease(edge.destination, newDistance);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the smallest weight among the roads from one vertex to another.
+	 *
+	 * @return the smallest weight, or Integer.MAX_VALUE if there is no such road
+	 */
+	private int shortestRoad(int from, int to) {
+		int weight = Integer.MAX_VALUE;
+		for (CityGraph.Edge edge : graph.getEdges(from)) {
+			if (edge.destination == to) {
+				weight = Math.min(weight, edge.weight);
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * IncomingRoad class is the mirror of a road kept in the list of the vertex it
+	 * enters, so the roads into a vertex can be found without scanning the graph.
+	 */
+	private static class IncomingRoad {
+		int origin; // Index of the vertex the road leaves
+		int weight; // Weight of the road
+
+		/**
+		 * Constructs the mirror of a road.
+		 *
+		 * @param origin the index of the vertex the road leaves
+		 * @param weight the weight of the road
+		 */
+		IncomingRoad(int origin, int weight) {
+			this.origin = origin;
+			this.weight = weight;
+		}
+	}
+}
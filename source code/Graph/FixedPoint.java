@@ -0,0 +1,63 @@
+/**
+ * FixedPoint class converts fractional road distances to and from the integer
+ * units stored in CityGraph. A distance of 12.345 km with three decimals is
+ * stored as the weight 12345, so searches keep working on primitive ints and
+ * longs without floating-point rounding drift along a route.
+ */
+public class FixedPoint {
+	private int decimals; // Number of decimal places kept
+	private long unitsPerWhole; // 10 to the power of decimals
+
+	/**
+	 * Constructs a converter keeping the given number of decimal places.
+	 *
+	 * @param decimals the number of decimal places, from 0 to 9
+	 * @throws IllegalArgumentException if decimals is out of range
+	 */
+	public FixedPoint(int decimals) {
+		if (decimals < 0 || decimals > 9) {
+			throw new IllegalArgumentException("Decimals must be between 0 and 9: " + decimals);
+		}
+		this.decimals = decimals;
+		this.unitsPerWhole = 1;
+		for (int i = 0; i < decimals; i++) {
+			unitsPerWhole *= 10;
+		}
+	}
+
+	/**
+	 * Gets the number of decimal places kept.
+	 *
+	 * @return the number of decimal places
+	 */
+	public int getDecimals() {
+		return decimals;
+	}
+
+	/**
+	 * Converts a distance to a road weight, rounding to the nearest unit.
+	 *
+	 * @param distance the distance, not negative
+	 * @return the weight in fixed-point units
+	 * @throws IllegalArgumentException if the distance is negative or does not fit
+	 *                                  in an int weight
+	 */
+	public int toWeight(double distance) {
+		double units = Math.rint(distance * unitsPerWhole);
+		if (!(units >= 0 && units <= Integer.MAX_VALUE)) { // Also rejects NaN
+			throw new IllegalArgumentException("Distance out of range for " + decimals + " decimals: " + distance);
+		}
+		return (int) units;
+	}
+
+	/**
+	 * Converts a distance in fixed-point units, such as one returned by
+	 * DijkstraAlgorithm.dijkstraLong, back to a fractional distance.
+	 *
+	 * @param units the distance in fixed-point units
+	 * @return the distance
+	 */
+	public double toDistance(long units) {
+		return (double) units / unitsPerWhole;
+	}
+}
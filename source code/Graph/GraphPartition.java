@@ -0,0 +1,313 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * GraphPartition class splits a CompactCityGraph into cells of nearby
+ * locations and preprocesses each cell on its own, so a network too big to
+ * handle as one unit can be worked on cell by cell and in parallel.
+ *
+ * Cells are grown by breadth-first search over the roads in both directions
+ * until they reach the requested size. A road between two cells is a cut road,
+ * and a location with a cut road is a boundary vertex. For every cell the
+ * shortest distances between its boundary vertices, using only roads inside
+ * the cell, form the overlay clique of the cell. PartitionQuery uses the
+ * overlay to cross cells without entering them.
+ */
+public class GraphPartition {
+	private static final int CELLS_PER_TASK = 1; // Cells preprocessed by one task without further splitting
+
+	CompactCityGraph graph; // Partitioned graph
+	int numCells; // Number of cells
+	int[] cell; // Cell of each vertex
+	int[] cellOffsets; // Start of each cell in cellVertices, numCells + 1 entries
+	int[] cellVertices; // Vertices grouped by cell
+	int[] boundaryOffsets; // Start of each cell in boundaryVertices, numCells + 1 entries
+	int[] boundaryVertices; // Boundary vertices grouped by cell
+	int[] boundaryIndex; // Position of each vertex among the boundary vertices of its cell, -1 if inside
+	long[] overlayOffsets; // Start of the overlay matrix of each cell in overlayWeights
+	int[] overlayWeights; // Row-major boundary-to-boundary distance matrix of each cell
+	private int cutSize; // Number of roads between different cells
+	private long[] preprocessingNanos; // Time spent building the overlay of each cell
+
+	/**
+	 * Constructs an empty partition; use build to create one.
+	 *
+	 * @param graph the compact city graph
+	 */
+	private GraphPartition(CompactCityGraph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Partitions the graph and builds the overlay of every cell on the common
+	 * fork-join pool.
+	 *
+	 * @param graph       the compact city graph
+	 * @param maxCellSize the largest number of vertices in a cell
+	 * @return the partitioned graph
+	 */
+	public static GraphPartition build(CompactCityGraph graph, int maxCellSize) {
+		return build(graph, maxCellSize, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Partitions the graph and builds the overlay of every cell.
+	 *
+	 * @param graph       the compact city graph
+	 * @param maxCellSize the largest number of vertices in a cell
+	 * @param pool        the pool to preprocess the cells on
+	 * @return the partitioned graph
+	 * @throws IllegalArgumentException if maxCellSize is not positive or the
+	 *                                  overlays would be too large
+	 */
+	public static GraphPartition build(CompactCityGraph graph, int maxCellSize, ForkJoinPool pool) {
+		if (maxCellSize <= 0) {
+			throw new IllegalArgumentException("Cell size must be positive: " + maxCellSize);
+		}
+		GraphPartition partition = new GraphPartition(graph);
+		partition.growCells(graph.reverse(), maxCellSize);
+		partition.findBoundary();
+		partition.preprocessingNanos = new long[partition.numCells];
+		int numVertices = graph.getNumVertices();
+		ScratchPool<StampedScratch> scratches = new ScratchPool<>(() -> new StampedScratch(numVertices));
+		pool.invoke(new OverlayTask(partition, scratches, 0, partition.numCells));
+		return partition;
+	}
+
+	/**
+	 * Gets the partitioned graph.
+	 *
+	 * @return the compact city graph
+	 */
+	public CompactCityGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Gets the number of cells.
+	 *
+	 * @return the number of cells
+	 */
+	public int getNumCells() {
+		return numCells;
+	}
+
+	/**
+	 * Gets the cell of the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the index of the cell
+	 */
+	public int getCell(int vertex) {
+		return cell[vertex];
+	}
+
+	/**
+	 * Gets the number of vertices in the specified cell.
+	 *
+	 * @param cell the index of the cell
+	 * @return the number of vertices
+	 */
+	public int getCellSize(int cell) {
+		return cellOffsets[cell + 1] - cellOffsets[cell];
+	}
+
+	/**
+	 * Gets the number of boundary vertices in the specified cell.
+	 *
+	 * @param cell the index of the cell
+	 * @return the number of boundary vertices
+	 */
+	public int getBoundarySize(int cell) {
+		return boundaryOffsets[cell + 1] - boundaryOffsets[cell];
+	}
+
+	/**
+	 * Checks if the specified vertex has a road to or from another cell.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return true if the vertex is a boundary vertex, false otherwise
+	 */
+	public boolean isBoundary(int vertex) {
+		return boundaryIndex[vertex] >= 0;
+	}
+
+	/**
+	 * Gets the number of roads between different cells, the usual measure of
+	 * partition quality.
+	 *
+	 * @return the number of cut roads
+	 */
+	public int getCutSize() {
+		return cutSize;
+	}
+
+	/**
+	 * Gets the time spent building the overlay of the specified cell.
+	 *
+	 * @param cell the index of the cell
+	 * @return the preprocessing time in nanoseconds
+	 */
+	public long getPreprocessingNanos(int cell) {
+		return preprocessingNanos[cell];
+	}
+
+	/**
+	 * Assigns every vertex to a cell by growing each cell breadth-first from the
+	 * lowest unassigned vertex, following roads in both directions.
+	 *
+	 * @param reverse     the graph with every road reversed
+	 * @param maxCellSize the largest number of vertices in a cell
+	 */
+	private void growCells(CompactCityGraph reverse, int maxCellSize) {
+		int numVertices = graph.getNumVertices();
+		cell = new int[numVertices];
+		Arrays.fill(cell, -1); // No vertex is assigned yet
+		int[] queue = new int[numVertices];
+		numCells = 0;
+		for (int seed = 0; seed < numVertices; seed++) {
+			if (cell[seed] >= 0) {
+				continue;
+			}
+			int c = numCells++;
+			int head = 0, tail = 0, size = 1;
+			cell[seed] = c;
+			queue[tail++] = seed;
+			while (head < tail && size < maxCellSize) {
+				int u = queue[head++];
+				for (int side = 0; side < 2 && size < maxCellSize; side++) {
+					CompactCityGraph roads = side == 0 ? graph : reverse; // Out-roads, then in-roads
+					for (int e = roads.getEdgeStart(u), end = roads.getEdgeEnd(u); e < end && size < maxCellSize; e++) {
+						int v = roads.getTarget(e);
+						if (cell[v] < 0) {
+							cell[v] = c;
+							queue[tail++] = v;
+							size++;
+						}
+					}
+				}
+			}
+		}
+
+		cellOffsets = new int[numCells + 1];
+		for (int v = 0; v < numVertices; v++) {
+			cellOffsets[cell[v] + 1]++;
+		}
+		for (int c = 0; c < numCells; c++) {
+			cellOffsets[c + 1] += cellOffsets[c];
+		}
+		cellVertices = new int[numVertices];
+		int[] next = Arrays.copyOf(cellOffsets, numCells); // Next free slot of each cell
+		for (int v = 0; v < numVertices; v++) {
+			cellVertices[next[cell[v]]++] = v;
+		}
+	}
+
+	/**
+	 * Counts the cut roads, finds the boundary vertices of every cell and lays out
+	 * the overlay matrices.
+	 */
+	private void findBoundary() {
+		int numVertices = graph.getNumVertices();
+		boundaryIndex = new int[numVertices];
+		Arrays.fill(boundaryIndex, -1);
+		cutSize = 0;
+		for (int u = 0; u < numVertices; u++) {
+			for (int e = graph.getEdgeStart(u), end = graph.getEdgeEnd(u); e < end; e++) {
+				int v = graph.getTarget(e);
+				if (cell[u] != cell[v]) {
+					cutSize++;
+					boundaryIndex[u] = 0; // Marked for now, numbered below
+					boundaryIndex[v] = 0;
+				}
+			}
+		}
+
+		IntList boundary = new IntList();
+		boundaryOffsets = new int[numCells + 1];
+		overlayOffsets = new long[numCells + 1];
+		for (int c = 0; c < numCells; c++) {
+			int count = 0;
+			for (int i = cellOffsets[c]; i < cellOffsets[c + 1]; i++) {
+				int v = cellVertices[i];
+				if (boundaryIndex[v] >= 0) {
+					boundaryIndex[v] = count++;
+					boundary.add(v);
+				}
+			}
+			boundaryOffsets[c + 1] = boundary.size();
+			overlayOffsets[c + 1] = overlayOffsets[c] + (long) count * count;
+		}
+		if (overlayOffsets[numCells] > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Overlay too large, use smaller cells");
+		}
+		boundaryVertices = boundary.toArray();
+		overlayWeights = new int[(int) overlayOffsets[numCells]];
+	}
+
+	/**
+	 * Fills the overlay matrix of a cell with one search per boundary vertex that
+	 * never leaves the cell.
+	 *
+	 * @param c       the index of the cell
+	 * @param scratch the search state of the calling thread
+	 */
+	private void buildOverlay(int c, StampedScratch scratch) {
+		int first = boundaryOffsets[c];
+		int count = boundaryOffsets[c + 1] - first;
+		int base = (int) overlayOffsets[c];
+		IndexedMinHeap heap = scratch.heap;
+		for (int i = 0; i < count; i++) {
+			scratch.nextSearch();
+			scratch.relax(boundaryVertices[first + i], 0);
+			while (!heap.isEmpty()) {
+				int vertex = heap.pollMin();
+				for (int e = graph.getEdgeStart(vertex), end = graph.getEdgeEnd(vertex); e < end; e++) {
+					int destination = graph.getTarget(e);
+					if (cell[destination] == c) { // Cut roads are skipped, the search stays in the cell
+						scratch.relax(destination, scratch.distances[vertex] + graph.getWeight(e));
+					}
+				}
+			}
+			for (int j = 0; j < count; j++) {
+				overlayWeights[base + i * count + j] = scratch.distance(boundaryVertices[first + j]);
+			}
+		}
+	}
+
+	/**
+	 * OverlayTask builds the overlays of a range of cells, splitting the range in
+	 * half until it is small enough.
+	 */
+	private static class OverlayTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private GraphPartition partition;
+		private ScratchPool<StampedScratch> scratches; // Search state shared by the tasks of this call
+		private int from, to; // Range of cells handled by this task
+
+		OverlayTask(GraphPartition partition, ScratchPool<StampedScratch> scratches, int from, int to) {
+			this.partition = partition;
+			this.scratches = scratches;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > CELLS_PER_TASK) {
+				int mid = (from + to) >>> 1; // Split the range in half
+				invokeAll(new OverlayTask(partition, scratches, from, mid), new OverlayTask(partition, scratches, mid, to));
+				return;
+			}
+			StampedScratch scratch = scratches.take();
+			for (int c = from; c < to; c++) {
+				long start = System.nanoTime();
+				partition.buildOverlay(c, scratch);
+				partition.preprocessingNanos[c] = System.nanoTime() - start;
+			}
+			scratches.give(scratch);
+		}
+	}
+}
@@ -0,0 +1,388 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * GraphTraversal class answers reachability questions on a CompactCityGraph
+ * without computing distances, which is much cheaper than a full Dijkstra run
+ * when all that matters is whether a location can be reached at all.
+ *
+ * Breadth-first search is direction-optimizing: small frontiers are expanded
+ * top-down along the roads leaving them, and once the frontier covers a large
+ * part of the remaining roads the search switches to bottom-up, where every
+ * unvisited vertex looks for a frontier vertex among its in-neighbors. Visited
+ * vertices and the frontier are kept as bitsets, and the bottom-up steps can
+ * run in parallel over disjoint blocks of bitset words.
+ *
+ * An instance keeps its buffers between searches and is not thread-safe; use
+ * one per thread over a shared graph.
+ */
+public class GraphTraversal {
+	private static final int ALPHA = 14; // Switch to bottom-up when frontier roads exceed unexplored roads / ALPHA
+	private static final int BETA = 24; // Switch back to top-down when the frontier drops below vertices / BETA
+	private static final int WORDS_PER_TASK = 1024; // Bitset words scanned by one task without further splitting
+
+	private CompactCityGraph graph; // Graph being searched
+	private CompactCityGraph reverse; // Graph with every road reversed, built when first needed
+	private int numVertices; // Number of vertices in the graph
+	private long[] visited; // Bit per vertex, set once the vertex is reached
+	private long[] frontierBits; // Current frontier as a bitset, used by bottom-up steps
+	private long[] nextBits; // Next frontier as a bitset, written by bottom-up steps
+	private int[] frontier; // Current frontier as a list
+	private int[] next; // Next frontier as a list
+	private int[] levels; // Number of roads from the source to each reached vertex
+	private int frontierSize; // Number of vertices in the current frontier
+	private int reachedCount; // Vertices reached by the last search
+	private int bottomUpSteps; // Levels of the last search expanded bottom-up
+
+	/**
+	 * Constructs a traversal engine over the given graph.
+	 *
+	 * @param graph the compact city graph
+	 */
+	public GraphTraversal(CompactCityGraph graph) {
+		int words = (graph.getNumVertices() + 63) >>> 6; // 64 vertices per word
+		this.graph = graph;
+		this.numVertices = graph.getNumVertices();
+		this.visited = new long[words];
+		this.frontierBits = new long[words];
+		this.nextBits = new long[words];
+		this.frontier = new int[numVertices];
+		this.next = new int[numVertices];
+		this.levels = new int[numVertices];
+	}
+
+	/**
+	 * Runs a breadth-first search from the source on the calling thread.
+	 *
+	 * @param source the index of the source vertex
+	 * @return the number of vertices reachable from the source, including itself
+	 */
+	public int breadthFirst(int source) {
+		return breadthFirst(source, null);
+	}
+
+	/**
+	 * Runs a breadth-first search from the source, with the bottom-up steps spread
+	 * over the given pool.
+	 *
+	 * @param source the index of the source vertex
+	 * @param pool   the pool to run the bottom-up steps on, or null to run them on
+	 *               the calling thread
+	 * @return the number of vertices reachable from the source, including itself
+	 */
+	public int breadthFirst(int source, ForkJoinPool pool) {
+		Arrays.fill(visited, 0L);
+		visited[source >>> 6] |= 1L << source;
+		levels[source] = 0;
+		frontier[0] = source;
+		frontierSize = 1;
+		reachedCount = 1;
+		bottomUpSteps = 0;
+		long unexploredEdges = graph.getNumEdges() - outDegree(source); // Roads leaving unreached vertices
+		boolean bottomUp = false;
+
+		for (int depth = 1; frontierSize > 0; depth++) {
+			long frontierEdges = 0; // Roads leaving the frontier
+			for (int i = 0; i < frontierSize; i++) {
+				frontierEdges += outDegree(frontier[i]);
+			}
+			if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+				bottomUp = true; // Frontier is large, checking unreached vertices is cheaper
+			} else if (bottomUp && frontierSize < numVertices / BETA) {
+				bottomUp = false; // Frontier is small again
+			}
+			int nextSize;
+			if (bottomUp) {
+				bottomUpSteps++;
+				nextSize = stepBottomUp(depth, pool);
+			} else {
+				nextSize = stepTopDown(depth);
+			}
+			for (int i = 0; i < nextSize; i++) {
+				unexploredEdges -= outDegree(next[i]);
+			}
+			int[] swap = frontier; // The next frontier becomes the current one
+			frontier = next;
+			next = swap;
+			frontierSize = nextSize;
+			reachedCount += nextSize;
+		}
+		return reachedCount;
+	}
+
+	/**
+	 * Checks if the specified vertex was reached by the last breadth-first search.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return true if the vertex was reached, false otherwise
+	 */
+	public boolean isReached(int vertex) {
+		return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+	}
+
+	/**
+	 * Gets the number of roads on the route with the fewest roads from the source
+	 * of the last breadth-first search to the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the number of roads, or -1 if the vertex was not reached
+	 */
+	public int getLevel(int vertex) {
+		return isReached(vertex) ? levels[vertex] : -1;
+	}
+
+	/**
+	 * Gets the number of vertices reached by the last breadth-first search.
+	 *
+	 * @return the number of reached vertices
+	 */
+	public int getReachedCount() {
+		return reachedCount;
+	}
+
+	/**
+	 * Gets the number of levels of the last breadth-first search that were
+	 * expanded bottom-up.
+	 *
+	 * @return the number of bottom-up steps
+	 */
+	public int getBottomUpSteps() {
+		return bottomUpSteps;
+	}
+
+	/**
+	 * Lists the vertices the last breadth-first search did not reach.
+	 *
+	 * @return the indices of the unreachable vertices in increasing order
+	 */
+	public int[] getUnreached() {
+		int[] unreached = new int[numVertices - reachedCount];
+		int count = 0;
+		for (int v = 0; v < numVertices; v++) {
+			if (!isReached(v)) {
+				unreached[count++] = v;
+			}
+		}
+		return unreached;
+	}
+
+	/**
+	 * Checks if there is a route from the origin to the destination, stopping as
+	 * soon as the destination is reached. This overwrites the results of the last
+	 * breadth-first search.
+	 *
+	 * @param source the index of the origin vertex
+	 * @param target the index of the destination vertex
+	 * @return true if the destination can be reached, false otherwise
+	 */
+	public boolean isReachable(int source, int target) {
+		Arrays.fill(visited, 0L);
+		visited[source >>> 6] |= 1L << source;
+		levels[source] = 0;
+		frontier[0] = source;
+		int head = 0, tail = 1; // The frontier array is used as a plain queue
+		reachedCount = 1;
+		bottomUpSteps = 0;
+		while (head < tail && !isReached(target)) {
+			int u = frontier[head++];
+			for (int e = graph.getEdgeStart(u), end = graph.getEdgeEnd(u); e < end; e++) {
+				int v = graph.getTarget(e);
+				if (!isReached(v)) {
+					visited[v >>> 6] |= 1L << v;
+					levels[v] = levels[u] + 1;
+					frontier[tail++] = v;
+					reachedCount++;
+				}
+			}
+		}
+		return isReached(target);
+	}
+
+	/**
+	 * Finds the strongly connected components of the graph with an iterative
+	 * version of Tarjan's algorithm, so deep road chains cannot overflow the call
+	 * stack. Two locations are in the same component if each can be reached from
+	 * the other.
+	 *
+	 * @return the component of each vertex; components are numbered from 0 in
+	 *         reverse topological order, so no road leads from a component to one
+	 *         with a higher number
+	 */
+	public int[] stronglyConnectedComponents() {
+		int[] component = new int[numVertices];
+		int[] index = new int[numVertices]; // Discovery order of each vertex, -1 if not yet discovered
+		int[] low = new int[numVertices]; // Smallest discovery order reachable within the search tree
+		int[] stack = new int[numVertices]; // Vertices not yet assigned to a component
+		int[] callVertex = frontier; // Vertex of each simulated call, reusing the frontier buffers
+		int[] callEdge = next; // Next road to follow in each simulated call
+		Arrays.fill(component, -1);
+		Arrays.fill(index, -1);
+		int counter = 0, stackSize = 0, numComponents = 0;
+
+		for (int root = 0; root < numVertices; root++) {
+			if (index[root] >= 0) {
+				continue;
+			}
+			index[root] = low[root] = counter++;
+			stack[stackSize++] = root;
+			callVertex[0] = root;
+			callEdge[0] = graph.getEdgeStart(root);
+			int depth = 1;
+			while (depth > 0) {
+				int v = callVertex[depth - 1];
+				int e = callEdge[depth - 1];
+				if (e < graph.getEdgeEnd(v)) {
+					callEdge[depth - 1]++;
+					int w = graph.getTarget(e);
+					if (index[w] < 0) { // Descend into w
+						index[w] = low[w] = counter++;
+						stack[stackSize++] = w;
+						callVertex[depth] = w;
+						callEdge[depth] = graph.getEdgeStart(w);
+						depth++;
+					} else if (component[w] < 0) { // w is still on the stack
+						low[v] = Math.min(low[v], index[w]);
+					}
+					continue;
+				}
+				depth--; // Return from the call for v
+				if (low[v] == index[v]) { // v is the root of a component
+					int w;
+					do {
+						w = stack[--stackSize];
+						component[w] = numComponents;
+					} while (w != v);
+					numComponents++;
+				}
+				if (depth > 0) {
+					int parent = callVertex[depth - 1];
+					low[parent] = Math.min(low[parent], low[v]);
+				}
+			}
+		}
+		return component;
+	}
+
+	/**
+	 * Expands the frontier along the roads leaving it.
+	 *
+	 * @param depth the level of the vertices being discovered
+	 * @return the size of the next frontier
+	 */
+	private int stepTopDown(int depth) {
+		int nextSize = 0;
+		for (int i = 0; i < frontierSize; i++) {
+			int u = frontier[i];
+			for (int e = graph.getEdgeStart(u), end = graph.getEdgeEnd(u); e < end; e++) {
+				int v = graph.getTarget(e);
+				if (!isReached(v)) {
+					visited[v >>> 6] |= 1L << v;
+					levels[v] = depth;
+					next[nextSize++] = v;
+				}
+			}
+		}
+		return nextSize;
+	}
+
+	/**
+	 * Lets every unreached vertex look for a frontier vertex among its in-neighbors.
+	 *
+	 * @param depth the level of the vertices being discovered
+	 * @param pool  the pool to run on, or null to run on the calling thread
+	 * @return the size of the next frontier
+	 */
+	private int stepBottomUp(int depth, ForkJoinPool pool) {
+		if (reverse == null) {
+			reverse = graph.reverse();
+		}
+		Arrays.fill(frontierBits, 0L);
+		for (int i = 0; i < frontierSize; i++) {
+			frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+		}
+		if (pool == null) {
+			scanBottomUp(depth, 0, visited.length);
+		} else {
+			pool.invoke(new BottomUpTask(this, depth, 0, visited.length));
+		}
+		int nextSize = 0;
+		for (int w = 0; w < nextBits.length; w++) {
+			for (long bits = nextBits[w]; bits != 0; bits &= bits - 1) { // Visit the set bits in order
+				next[nextSize++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+			}
+		}
+		return nextSize;
+	}
+
+	/**
+	 * Gets the number of roads leaving the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the out-degree of the vertex
+	 */
+	private int outDegree(int vertex) {
+		return graph.getEdgeEnd(vertex) - graph.getEdgeStart(vertex);
+	}
+
+	/**
+	 * Runs a bottom-up step over a range of bitset words. Every unreached vertex
+	 * of the range that has a road from the frontier joins the next frontier; the
+	 * range's words are the only ones written.
+	 *
+	 * @param depth the level of the vertices being discovered
+	 * @param from  the index of the first word to scan
+	 * @param to    the index after the last word to scan
+	 */
+	private void scanBottomUp(int depth, int from, int to) {
+		for (int w = from; w < to; w++) {
+			long found = 0; // Vertices of this word discovered in this step
+			int end = Math.min(numVertices, (w + 1) << 6);
+			for (int v = w << 6; v < end; v++) {
+				if ((visited[w] & (1L << v)) != 0) {
+					continue;
+				}
+				for (int e = reverse.getEdgeStart(v), last = reverse.getEdgeEnd(v); e < last; e++) {
+					int u = reverse.getTarget(e);
+					if ((frontierBits[u >>> 6] & (1L << u)) != 0) { // A road from the frontier
+						found |= 1L << v;
+						levels[v] = depth;
+						break;
+					}
+				}
+			}
+			visited[w] |= found;
+			nextBits[w] = found;
+		}
+	}
+
+	/**
+	 * BottomUpTask runs a bottom-up step over a range of bitset words, splitting
+	 * the range in half until it is small enough. Each task writes only its own
+	 * words, so no synchronization is needed.
+	 */
+	private static class BottomUpTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private GraphTraversal traversal;
+		private int depth;
+		private int from, to; // Range of bitset words handled by this task
+
+		BottomUpTask(GraphTraversal traversal, int depth, int from, int to) {
+			this.traversal = traversal;
+			this.depth = depth;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > WORDS_PER_TASK) {
+				int mid = (from + to) >>> 1; // Split the range in half
+				invokeAll(new BottomUpTask(traversal, depth, from, mid), new BottomUpTask(traversal, depth, mid, to));
+				return;
+			}
+			traversal.scanBottomUp(depth, from, to);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * Heuristic interface estimates the remaining distance from a vertex to the
+ * destination of an A* search. For AStarSearch to return exact shortest
+ * distances the estimate must be admissible: it may never exceed the true
+ * shortest distance.
+ */
+public interface Heuristic {
+	/**
+	 * A heuristic that always estimates 0, which turns A* into Dijkstra's
+	 * algorithm with early termination.
+	 */
+	Heuristic ZERO = (vertex, target) -> 0;
+
+	/**
+	 * Estimates the distance from a vertex to the destination.
+	 *
+	 * @param vertex the index of the vertex
+	 * @param target the index of the destination vertex
+	 * @return a lower bound on the shortest distance from vertex to target
+	 */
+	int estimate(int vertex, int target);
+
+	/**
+	 * Builds a heuristic from the straight-line distance between the coordinates
+	 * of the vertices. It is admissible as long as no road has a weight smaller
+	 * than weightPerUnit times the straight-line distance between its ends.
+	 *
+	 * @param graph         the city graph whose vertices have coordinates
+	 * @param weightPerUnit the smallest road weight per unit of straight-line distance
+	 * @return the straight-line heuristic
+	 * @throws IllegalArgumentException if the graph has no coordinates
+	 */
+	static Heuristic euclidean(CityGraph graph, double weightPerUnit) {
+		if (!graph.hasCoordinates()) {
+			throw new IllegalArgumentException("Graph has no vertex coordinates");
+		}
+		int numVertices = graph.getNumVertices();
+		double[] x = new double[numVertices];
+		double[] y = new double[numVertices];
+		for (int v = 0; v < numVertices; v++) {
+			x[v] = graph.getX(v); // Copy the coordinates so the heuristic does not depend on the graph
+			y[v] = graph.getY(v);
+		}
+		return (vertex, target) -> {
+			double dx = x[vertex] - x[target];
+			double dy = y[vertex] - y[target];
+			return (int) Math.min(Math.sqrt(dx * dx + dy * dy) * weightPerUnit, Integer.MAX_VALUE); // Rounded down
+		};
+	}
+}
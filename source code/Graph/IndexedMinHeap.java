@@ -0,0 +1,175 @@
+import java.util.Arrays;
+
+/**
+ * IndexedMinHeap class implements a binary min-heap of vertex indices keyed by
+ * their tentative distances. Each vertex can be in the heap at most once and its
+ * key can be lowered in place, which is what Dijkstra's algorithm needs. Keys are
+ * longs so the same heap serves both the int and the long distance engines.
+ */
+public class IndexedMinHeap {
+	private int[] heap; // Heap array holding vertex indices, 0-based
+	private long[] keys; // Current key of each vertex
+	private int[] position; // Position of each vertex in the heap array, -1 if absent
+	private int size; // Number of vertices currently in the heap
+
+	/**
+	 * Constructs an empty heap able to hold vertices 0 to capacity - 1.
+	 *
+	 * @param capacity the number of vertices that can be stored
+	 */
+	public IndexedMinHeap(int capacity) {
+		this.heap = new int[capacity]; // Initialize the heap array
+		this.keys = new long[capacity]; // Initialize the key array
+		this.position = new int[capacity]; // Initialize the position array
+		Arrays.fill(position, -1); // No vertex is in the heap yet
+		this.size = 0;
+	}
+
+	/**
+	 * Checks if the heap is empty.
+	 *
+	 * @return true if the heap is empty, false otherwise
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of vertices in the heap.
+	 *
+	 * @return the number of vertices in the heap
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the specified vertex is in the heap.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return true if the vertex is in the heap, false otherwise
+	 */
+	public boolean contains(int vertex) {
+		return position[vertex] >= 0;
+	}
+
+	/**
+	 * Inserts a vertex with the given key, or lowers its key if it is already in
+	 * the heap with a larger one.
+	 *
+	 * @param vertex the index of the vertex
+	 * @param key    the key (tentative distance) of the vertex
+	 */
+	public void insertOrDecrease(int vertex, long key) {
+		int pos = position[vertex];
+		if (pos < 0) {
+			pos = size++; // Append the vertex at the end of the heap
+			heap[pos] = vertex;
+			position[vertex] = pos;
+		} else if (key >= keys[vertex]) {
+			return; // Existing key is already smaller or equal
+		}
+		keys[vertex] = key;
+		siftUp(pos); // Restore the heap property
+	}
+
+	/**
+	 * Returns the vertex with the smallest key without removing it.
+	 *
+	 * @return the vertex with the smallest key
+	 * @throws IllegalStateException if the heap is empty
+	 */
+	public int peekMin() {
+		if (size == 0) {
+			throw new IllegalStateException("Heap is empty");
+		}
+		return heap[0];
+	}
+
+	/**
+	 * Returns the smallest key in the heap.
+	 *
+	 * @return the smallest key in the heap
+	 * @throws IllegalStateException if the heap is empty
+	 */
+	public long peekMinKey() {
+		return keys[peekMin()];
+	}
+
+	/**
+	 * Removes and returns the vertex with the smallest key.
+	 *
+	 * @return the vertex with the smallest key
+	 * @throws IllegalStateException if the heap is empty
+	 */
+	public int pollMin() {
+		int min = peekMin(); // Vertex at the root
+		int last = heap[--size]; // Last vertex in the heap
+		position[min] = -1;
+		if (size > 0) {
+			heap[0] = last; // Move the last vertex to the root
+			position[last] = 0;
+			siftDown(0); // Restore the heap property
+		}
+		return min;
+	}
+
+	/**
+	 * Removes all vertices from the heap so it can be reused for another search.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			position[heap[i]] = -1; // Only touch the vertices that are still queued
+		}
+		size = 0;
+	}
+
+	/**
+	 * Moves the vertex at the given position up until its parent has a smaller key.
+	 *
+	 * @param pos the position in the heap array
+	 */
+	private void siftUp(int pos) {
+		int vertex = heap[pos];
+		long key = keys[vertex];
+		while (pos > 0) {
+			int parent = (pos - 1) >>> 1; // Index of the parent
+			int parentVertex = heap[parent];
+			if (keys[parentVertex] <= key) {
+				break;
+			}
+			heap[pos] = parentVertex; // Move the parent down
+			position[parentVertex] = pos;
+			pos = parent;
+		}
+		heap[pos] = vertex;
+		position[vertex] = pos;
+	}
+
+	/**
+	 * Moves the vertex at the given position down until both children have larger keys.
+	 *
+	 * @param pos the position in the heap array
+	 */
+	private void siftDown(int pos) {
+		int vertex = heap[pos];
+		long key = keys[vertex];
+		int half = size >>> 1; // Positions below this have at least one child
+		while (pos < half) {
+			int child = 2 * pos + 1; // Left child
+			int right = child + 1;
+			if (right < size && keys[heap[right]] < keys[heap[child]]) {
+				child = right; // Right child is smaller
+			}
+			int childVertex = heap[child];
+			if (key <= keys[childVertex]) {
+				break;
+			}
+			heap[pos] = childVertex; // Move the child up
+			position[childVertex] = pos;
+			pos = child;
+		}
+		heap[pos] = vertex;
+		position[vertex] = pos;
+	}
+}
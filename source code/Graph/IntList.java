@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+/**
+ * IntList class is a growable list of primitive ints, used by the graph
+ * algorithms to collect vertices and edges without boxing them.
+ */
+public class IntList {
+	private int[] values; // Backing array
+	private int size; // Number of values in the list
+
+	/**
+	 * Constructs an empty list.
+	 */
+	public IntList() {
+		this(8);
+	}
+
+	/**
+	 * Constructs an empty list with room for the given number of values.
+	 *
+	 * @param capacity the initial capacity
+	 */
+	public IntList(int capacity) {
+		this.values = new int[Math.max(capacity, 1)];
+		this.size = 0;
+	}
+
+	/**
+	 * Appends a value to the end of the list.
+	 *
+	 * @param value the value to append
+	 */
+	public void add(int value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2); // Double the capacity
+		}
+		values[size++] = value;
+	}
+
+	/**
+	 * Gets the value at the specified index.
+	 *
+	 * @param index the index of the value
+	 * @return the value at the index
+	 */
+	public int get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return values[index];
+	}
+
+	/**
+	 * Replaces the value at the specified index.
+	 *
+	 * @param index the index of the value
+	 * @param value the new value
+	 */
+	public void set(int index, int value) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		values[index] = value;
+	}
+
+	/**
+	 * Removes and returns the last value of the list.
+	 *
+	 * @return the last value
+	 * @throws IllegalStateException if the list is empty
+	 */
+	public int removeLast() {
+		if (size == 0) {
+			throw new IllegalStateException("List is empty");
+		}
+		return values[--size];
+	}
+
+	/**
+	 * Returns the number of values in the list.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the list is empty.
+	 *
+	 * @return true if the list is empty, false otherwise
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all values from the list, keeping its capacity.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Copies the values into a new array.
+	 *
+	 * @return an array holding the values of the list
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+}
@@ -1,111 +1,159 @@
-import java.util.ArrayList; // Import ArrayList class from java.util package for dynamic array
+import java.io.IOException; // Import IOException class from java.io package for handling file errors
+import java.nio.file.Path; // Import Path class from java.nio.file package for locating the binary graph file
+import java.util.Arrays; // Import Arrays class from java.util package for dropping the reorder flag from the arguments
 import java.util.InputMismatchException; // Import InputMismatchException class from java.util package for handling input mismatch errors
-import java.util.List; // Import List interface from java.util package for representing a list data structure
-import java.util.Scanner; // Import Scanner class from java.util package for reading user input
 
 /**
  * MainDirectedGraph class implements the main program for finding the shortest delivery routes
  * in a directed graph representing a city's road network.
  */
 public class MainDirectedGraph {
-    
+    private static final int ROAD_BATCH_SIZE = 4096; // Number of roads read before they are added to the graph
+
     /**
      * Main method to execute the program.
      *
-     * @param args command line arguments (not used)
+     * With no arguments the road network is read as text from standard input.
+     * With a single file argument the network is opened from a binary graph file
+     * written by CityGraphFile. With "-o file" the text network is read from
+     * standard input and also saved as a binary graph file for later runs.
+     *
+     * A leading "-r" renumbers the locations with reverse Cuthill-McKee before
+     * searching, which speeds up large networks given in an arbitrary order. It
+     * builds a renumbered copy of the graph on the heap, so it is off by default
+     * to keep an opened binary graph file free of copies.
+     *
+     * @param args command line arguments: an optional "-r", then none, a binary
+     *             graph file, or "-o" and the binary graph file to write
+     * @throws IOException if the binary graph file cannot be read or written
      */
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in); // Create Scanner object for reading user input
+    public static void main(String[] args) throws IOException {
+        boolean reorder = args.length > 0 && args[0].equals("-r"); // Renumber the locations before searching
+        if (reorder) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        CompactCityGraph graph; // Road network in compact form
+        if (args.length == 1) {
+            graph = CityGraphFile.map(Path.of(args[0])); // Open the binary graph without parsing
+        } else {
+            graph = readGraph(new RoadNetworkReader(System.in));
+            if (graph == null) {
+                return; // Invalid input, message already printed
+            }
+            if (args.length == 2 && args[0].equals("-o")) {
+                CityGraphFile.write(graph, Path.of(args[1])); // Save the graph for later runs
+            }
+        }
+        if (reorder) {
+            VertexOrdering ordering = VertexOrdering.reverseCuthillMcKee(graph); // Renumber nearby locations close together
+            printShortestRoutes(ordering.apply(graph), ordering, graph.getNumVertices() - 1); // Every vertex except the warehouse is a location
+        } else {
+            printShortestRoutes(graph, VertexOrdering.identity(graph.getNumVertices()), graph.getNumVertices() - 1);
+        }
+    }
 
+    /**
+     * Reads the road network from the text input.
+     *
+     * @param reader the reader over the input
+     * @return the road network in compact form, or null if the input is invalid
+     */
+    private static CompactCityGraph readGraph(RoadNetworkReader reader) {
         int numWarehouses, numLocations; // Declare variables for number of warehouses and delivery locations
         try {
             // Input: Number of warehouses and delivery locations
-            numWarehouses = scanner.nextInt(); // Read the number of warehouses from user input
-            numLocations = scanner.nextInt(); // Read the number of delivery locations from user input
+            numWarehouses = reader.nextInt(); // Read the number of warehouses from user input
+            numLocations = reader.nextInt(); // Read the number of delivery locations from user input
         } catch (InputMismatchException e) {
             // Handle invalid input format
             System.out.println("Invalid input format: Expected integer values for number of warehouses and delivery locations.");
-            return; // Exit the program
+            return null; // Exit the program
         }
 
         // Validate input values
         if (numWarehouses != 1 || numLocations < 1) {
             System.out.println("Invalid input format: Number of warehouses should be 1 and number of delivery locations should be positive.");
-            return; // Exit the program
+            return null; // Exit the program
         }
 
         // Create a city graph
         CityGraph cityGraph = new CityGraph(numLocations + 1); // Include central warehouse (0) and delivery locations
 
         // Input: Number of roads connecting locations
-        int numRoads = scanner.nextInt(); // Read the number of roads from user input
+        int numRoads = reader.nextInt(); // Read the number of roads from user input
 
-        // Input: Roads connecting locations
+        // Input: Roads connecting locations, added to the graph in batches
+        int[] starts = new int[ROAD_BATCH_SIZE];
+        int[] ends = new int[ROAD_BATCH_SIZE];
+        int[] distances = new int[ROAD_BATCH_SIZE];
+        int batched = 0; // Number of roads in the current batch
         for (int i = 0; i < numRoads; i++) {
-            int start = scanner.nextInt(); // Read the starting location of the road from user input
-            int end = scanner.nextInt(); // Read the ending location of the road from user input
-            int distance = scanner.nextInt(); // Read the distance of the road from user input
+            int start = reader.nextInt(); // Read the starting location of the road from user input
+            int end = reader.nextInt(); // Read the ending location of the road from user input
+            int distance = reader.nextInt(); // Read the distance of the road from user input
 
             // Validate vertex numbers and distances
             if (start < 0 || end < 0 || distance < 0) {
                 System.out.println("Invalid input format: Vertex numbers and distances should be non-negative.");
-                return; // Exit the program
+                return null; // Exit the program
             }
 
-            // Add edges to the graph
-            cityGraph.addEdge(start, end, distance); // Add the road to the city graph
-        }
-
-        // Perform Dijkstra's algorithm for each delivery location
-        for (int location = 1; location <= numLocations; location++) {
-            int[] shortestDistances = DijkstraAlgorithm.dijkstra(cityGraph, 0); // Central warehouse at node 0
-            int distance = shortestDistances[location]; // Get the shortest distance to the current location
-            String shortestRoute = getShortestRoute(shortestDistances, location); // Get the shortest route to the current location
-            System.out.println("Delivery Location " + location + " - Shortest Route: " + shortestRoute + ", Distance: " + (distance == Integer.MAX_VALUE ? "Infinity : (Location " + location + " is unreachable from the central warehouse)" : distance)); // Print the shortest route and distance to the current location
+            // Add the road to the current batch
+            starts[batched] = start;
+            ends[batched] = end;
+            distances[batched] = distance;
+            if (++batched == ROAD_BATCH_SIZE) {
+                cityGraph.addEdges(starts, ends, distances, batched); // Add the full batch to the city graph
+                batched = 0;
+            }
         }
+        cityGraph.addEdges(starts, ends, distances, batched); // Add the remaining roads
 
-        scanner.close(); // Close the scanner
+        reader.close(); // Close the reader
+        return cityGraph.freeze(); // Switch to the compact form for searching
     }
 
     /**
-     * Gets the shortest route from the central warehouse to the destination location.
+     * Prints the shortest route and distance from the central warehouse to every
+     * delivery location, using the original location numbers.
      *
-     * @param distances   the array of shortest distances from the central warehouse to each location
-     * @param destination the index of the destination location
-     * @return the shortest route from the central warehouse to the destination location
+     * @param graph        the road network in compact form, numbered by the ordering
+     * @param ordering     the mapping between original and renumbered locations
+     * @param numLocations the number of delivery locations
      */
-    private static String getShortestRoute(int[] distances, int destination) {
-        StringBuilder shortestRoute = new StringBuilder(); // Create StringBuilder object to store the shortest route
-        int currentLocation = destination; // Initialize the current location as the destination
-        if (distances[currentLocation] == Integer.MAX_VALUE) {
-            return "Unreachable"; // Indicate unreachable location if the distance is maximum value
-        }
-        while (currentLocation != 0) { // Loop until reaching the central warehouse
-            shortestRoute.insert(0, currentLocation + " -> "); // Add the current location to the beginning of the route
-            currentLocation = getPredecessor(distances, currentLocation); // Get the predecessor location in the shortest route
+    private static void printShortestRoutes(CompactCityGraph graph, VertexOrdering ordering, int numLocations) {
+        // Perform Dijkstra's algorithm once from the central warehouse at node 0
+        ShortestPathTree shortestPaths = new ShortestPathTree(graph, ordering.getNewId(0));
+
+        // Report the shortest route to each delivery location
+        int[] routeBuffer = new int[numLocations + 1]; // Reused for every route, a route never repeats a location
+        StringBuilder shortestRoute = new StringBuilder(); // Reused for every route
+        for (int location = 1; location <= numLocations; location++) {
+            int distance = shortestPaths.getDistance(ordering.getNewId(location)); // Get the shortest distance to the current location
+            appendShortestRoute(shortestRoute, shortestPaths, ordering, location, routeBuffer); // Get the shortest route to the current location
+            System.out.println("Delivery Location " + location + " - Shortest Route: " + shortestRoute + ", Distance: " + (distance == Integer.MAX_VALUE ? "Infinity : (Location " + location + " is unreachable from the central warehouse)" : distance)); // Print the shortest route and distance to the current location
+            shortestRoute.setLength(0); // Clear the route for the next location
         }
-        shortestRoute.insert(0, "0 -> "); // Add central warehouse to the beginning of the route
-        shortestRoute.deleteCharAt(shortestRoute.length() - 2); // Remove extra arrow before central warehouse
-        return shortestRoute.toString(); // Return the shortest route as a string
     }
 
     /**
-     * Helper method to get the predecessor in the shortest route.
+     * Appends the shortest route from the central warehouse to the destination location.
      *
-     * @param distances the array of shortest distances from the central warehouse to each location
-     * @param location  the index of the current location
-     * @return the index of the predecessor in the shortest route
+     * @param shortestRoute the builder receiving the route
+     * @param shortestPaths the shortest path tree rooted at the central warehouse
+     * @param ordering      the mapping between original and renumbered locations
+     * @param destination   the original index of the destination location
+     * @param routeBuffer   scratch array with one slot per location
      */
-    private static int getPredecessor(int[] distances, int location) {
-        int minDistance = Integer.MAX_VALUE; // Initialize minimum distance as maximum value
-        int predecessor = 0; // Initialize predecessor index as 0
-        for (int i = 0; i < distances.length; i++) { // Loop through all locations
-            if (distances[i] < minDistance && distances[i] != Integer.MAX_VALUE && distances[i] < distances[location]) {
-                minDistance = distances[i]; // Update minimum distance
-                predecessor = i; // Update predecessor index
-            }
+    private static void appendShortestRoute(StringBuilder shortestRoute, ShortestPathTree shortestPaths, VertexOrdering ordering, int destination, int[] routeBuffer) {
+        int length = shortestPaths.getRoute(ordering.getNewId(destination), routeBuffer); // Locations on the route, starting at the warehouse
+        if (length == 0) {
+            shortestRoute.append("Unreachable"); // Indicate unreachable location
+            return;
+        }
+        shortestRoute.append(ordering.getOriginalId(routeBuffer[0])); // Central warehouse
+        for (int i = 1; i < length; i++) {
+            shortestRoute.append(" -> ").append(ordering.getOriginalId(routeBuffer[i])); // Next location on the route
         }
-        return predecessor; // Return the predecessor index
     }
 }
-
@@ -0,0 +1,143 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * MainShortestPathBenchmark class compares the running time of the sequential
+ * heap-based Dijkstra engine with the parallel delta-stepping engine on random
+ * road networks of increasing size, and checks that both return the same
+ * distances. It then times Dijkstra on grid networks numbered in random order
+ * before and after renumbering them with each VertexOrdering.
+ */
+public class MainShortestPathBenchmark {
+	private static final int ROADS_PER_LOCATION = 4; // Average out-degree of the generated networks
+	private static final int MAX_DISTANCE = 100; // Largest road distance
+	private static final int RUNS = 5; // Timed runs per engine and size, after one warm-up run
+
+	/**
+	 * Main method to run the benchmark.
+	 *
+	 * @param args optional list of network sizes (number of locations)
+	 */
+	public static void main(String[] args) {
+		int[] sizes = { 10_000, 100_000, 1_000_000 };
+		if (args.length > 0) {
+			sizes = Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+		}
+		int delta = MAX_DISTANCE / 2; // Around the average road distance
+		System.out.println("Cores: " + Runtime.getRuntime().availableProcessors() + ", delta: " + delta);
+		for (int numVertices : sizes) {
+			CompactCityGraph graph = randomGraph(numVertices, new Random(numVertices)).freeze();
+			int[] expected = DijkstraAlgorithm.dijkstraHeap(graph, 0);
+			if (!Arrays.equals(expected, DeltaStepping.shortestPaths(graph, 0, delta))) {
+				throw new IllegalStateException("Delta-stepping distances differ from Dijkstra for " + numVertices);
+			}
+
+			long dijkstraNanos = Long.MAX_VALUE, deltaNanos = Long.MAX_VALUE; // Best of the timed runs
+			for (int run = 0; run < RUNS; run++) {
+				long start = System.nanoTime();
+				DijkstraAlgorithm.dijkstraHeap(graph, 0);
+				dijkstraNanos = Math.min(dijkstraNanos, System.nanoTime() - start);
+				start = System.nanoTime();
+				DeltaStepping.shortestPaths(graph, 0, delta);
+				deltaNanos = Math.min(deltaNanos, System.nanoTime() - start);
+			}
+			System.out.printf("%,d locations, %,d roads: Dijkstra %.1f ms, delta-stepping %.1f ms (%.2fx)%n",
+					numVertices, graph.getNumEdges(), dijkstraNanos / 1e6, deltaNanos / 1e6,
+					(double) dijkstraNanos / deltaNanos);
+		}
+		for (int numVertices : sizes) {
+			benchmarkOrderings((int) Math.sqrt(numVertices));
+		}
+	}
+
+	/**
+	 * Times Dijkstra's algorithm on a shuffled grid network in input order and in
+	 * each vertex ordering.
+	 *
+	 * @param side the number of locations along each side of the grid
+	 */
+	private static void benchmarkOrderings(int side) {
+		CityGraph grid = shuffledGrid(side, new Random(side));
+		CompactCityGraph graph = new CompactCityGraph(grid);
+		String[] names = { "input", "BFS", "RCM", "Hilbert" };
+		VertexOrdering[] orderings = { null, VertexOrdering.breadthFirst(graph),
+				VertexOrdering.reverseCuthillMcKee(graph), VertexOrdering.hilbert(grid) };
+		long inputNanos = 0;
+		StringBuilder line = new StringBuilder(String.format("%,d x %,d grid:", side, side));
+		for (int i = 0; i < orderings.length; i++) {
+			CompactCityGraph ordered = orderings[i] == null ? graph : orderings[i].apply(graph);
+			int source = orderings[i] == null ? 0 : orderings[i].getNewId(0);
+			long nanos = Long.MAX_VALUE; // Best of the timed runs
+			for (int run = 0; run <= RUNS; run++) { // The first run is the warm-up
+				long start = System.nanoTime();
+				DijkstraAlgorithm.dijkstraHeap(ordered, source);
+				if (run > 0) {
+					nanos = Math.min(nanos, System.nanoTime() - start);
+				}
+			}
+			if (i == 0) {
+				inputNanos = nanos;
+			}
+			line.append(String.format(" %s %.1f ms (%.2fx)", names[i], nanos / 1e6, (double) inputNanos / nanos));
+		}
+		System.out.println(line);
+	}
+
+	/**
+	 * Builds a random road network in which every location is reachable from the
+	 * warehouse at vertex 0.
+	 *
+	 * @param numVertices the number of locations
+	 * @param random      the source of randomness
+	 * @return the random city graph
+	 */
+	static CityGraph randomGraph(int numVertices, Random random) {
+		CityGraph graph = new CityGraph(numVertices);
+		for (int v = 1; v < numVertices; v++) {
+			graph.addEdge(random.nextInt(v), v, 1 + random.nextInt(MAX_DISTANCE)); // Spanning tree from 0
+		}
+		for (int i = 0; i < (ROADS_PER_LOCATION - 1) * numVertices; i++) {
+			graph.addEdge(random.nextInt(numVertices), random.nextInt(numVertices), 1 + random.nextInt(MAX_DISTANCE));
+		}
+		return graph;
+	}
+
+	/**
+	 * Builds a grid road network with roads both ways between neighboring
+	 * locations, numbered in random order, with each location's grid position as
+	 * its coordinates.
+	 *
+	 * @param side   the number of locations along each side of the grid
+	 * @param random the source of randomness
+	 * @return the grid city graph
+	 */
+	static CityGraph shuffledGrid(int side, Random random) {
+		int numVertices = side * side;
+		int[] ids = new int[numVertices]; // Vertex of each grid position
+		for (int i = 0; i < numVertices; i++) {
+			int j = random.nextInt(i + 1); // Fisher-Yates shuffle
+			ids[i] = ids[j];
+			ids[j] = i;
+		}
+		CityGraph graph = new CityGraph(numVertices);
+		for (int row = 0; row < side; row++) {
+			for (int column = 0; column < side; column++) {
+				int v = ids[row * side + column];
+				graph.setCoordinates(v, column, row);
+				if (column + 1 < side) {
+					int right = ids[row * side + column + 1];
+					int distance = 1 + random.nextInt(MAX_DISTANCE);
+					graph.addEdge(v, right, distance);
+					graph.addEdge(right, v, distance);
+				}
+				if (row + 1 < side) {
+					int below = ids[(row + 1) * side + column];
+					int distance = 1 + random.nextInt(MAX_DISTANCE);
+					graph.addEdge(v, below, distance);
+					graph.addEdge(below, v, distance);
+				}
+			}
+		}
+		return graph;
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * PartitionQuery class answers exact shortest distance queries over a
+ * GraphPartition. The search uses every road only inside the cells of the
+ * origin and the destination; any other cell is crossed in one step along its
+ * overlay clique, entered and left through cut roads. Only the overlays of the
+ * cells a query passes through are read, so cells far from the route are never
+ * touched.
+ *
+ * The query time of every call is added to the statistics of the origin's
+ * cell. An instance keeps its arrays between queries and is not thread-safe;
+ * use one per thread over a shared partition.
+ */
+public class PartitionQuery {
+	private GraphPartition partition; // Preprocessed graph
+	private StampedScratch scratch; // Search state, with the touched cells marked
+	private int settledCount; // Vertices settled by the last query
+	private int touchedCellCount; // Cells touched by the last query
+	private long[] queryNanos; // Total query time per origin cell
+	private int[] queryCount; // Number of queries per origin cell
+
+	/**
+	 * Constructs a query engine over the given partition.
+	 *
+	 * @param partition the partitioned graph
+	 */
+	public PartitionQuery(GraphPartition partition) {
+		int numVertices = partition.graph.getNumVertices();
+		this.partition = partition;
+		this.scratch = new StampedScratch(numVertices, partition.numCells);
+		this.queryNanos = new long[partition.numCells];
+		this.queryCount = new int[partition.numCells];
+	}
+
+	/**
+	 * Finds the shortest distance from the origin to the destination.
+	 *
+	 * @param source the index of the origin vertex
+	 * @param target the index of the destination vertex
+	 * @return the shortest distance, or Integer.MAX_VALUE if the destination is
+	 *         unreachable
+	 */
+	public int distance(int source, int target) {
+		long start = System.nanoTime();
+		scratch.nextSearch();
+		IndexedMinHeap heap = scratch.heap;
+		CompactCityGraph graph = partition.graph;
+		int[] cell = partition.cell;
+		int sourceCell = cell[source], targetCell = cell[target];
+		settledCount = 0;
+		touchedCellCount = 0;
+		scratch.relax(source, 0);
+		int result = Integer.MAX_VALUE;
+
+		while (!heap.isEmpty()) {
+			int vertex = heap.pollMin();
+			settledCount++;
+			if (vertex == target) {
+				result = scratch.distances[vertex];
+				break; // The destination is settled
+			}
+			int c = cell[vertex];
+			if (scratch.mark(c)) {
+				touchedCellCount++;
+			}
+			boolean open = c == sourceCell || c == targetCell; // Whether every road of the cell is used
+			for (int e = graph.getEdgeStart(vertex), end = graph.getEdgeEnd(vertex); e < end; e++) {
+				int destination = graph.getTarget(e);
+				if (open || cell[destination] != c) {
+					scratch.relax(destination, scratch.distances[vertex] + graph.getWeight(e));
+				}
+			}
+			int index = partition.boundaryIndex[vertex];
+			if (!open && index >= 0) { // Cross the cell along its overlay
+				int first = partition.boundaryOffsets[c];
+				int count = partition.boundaryOffsets[c + 1] - first;
+				int row = (int) partition.overlayOffsets[c] + index * count;
+				for (int j = 0; j < count; j++) {
+					int weight = partition.overlayWeights[row + j];
+					if (j != index && weight != Integer.MAX_VALUE) {
+						scratch.relax(partition.boundaryVertices[first + j], scratch.distances[vertex] + weight);
+					}
+				}
+			}
+		}
+		heap.clear();
+		queryNanos[sourceCell] += System.nanoTime() - start;
+		queryCount[sourceCell]++;
+		return result;
+	}
+
+	/**
+	 * Gets the number of vertices settled by the last query.
+	 *
+	 * @return the number of settled vertices
+	 */
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Gets the number of cells the last query settled a vertex in.
+	 *
+	 * @return the number of touched cells
+	 */
+	public int getTouchedCellCount() {
+		return touchedCellCount;
+	}
+
+	/**
+	 * Gets the number of queries answered from origins in the specified cell.
+	 *
+	 * @param cell the index of the cell
+	 * @return the number of queries
+	 */
+	public int getQueryCount(int cell) {
+		return queryCount[cell];
+	}
+
+	/**
+	 * Gets the average time of the queries answered from origins in the specified
+	 * cell.
+	 *
+	 * @param cell the index of the cell
+	 * @return the average query time in nanoseconds, or 0 if there were none
+	 */
+	public long getAverageQueryNanos(int cell) {
+		return queryCount[cell] == 0 ? 0 : queryNanos[cell] / queryCount[cell];
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ * PointToPointSearch class answers single origin to destination distance
+ * queries on a CompactCityGraph. Unlike DijkstraAlgorithm it stops as soon as
+ * the destination is settled, and the bidirectional variant searches forward
+ * from the origin and backward from the destination over the reversed graph
+ * until the two searches meet.
+ *
+ * An instance keeps its arrays between queries and only touches the vertices a
+ * query reaches, so a query costs time proportional to the explored part of the
+ * graph rather than to the whole graph. Instances are not thread-safe; use one
+ * per thread.
+ */
+public class PointToPointSearch {
+	private CompactCityGraph graph; // Graph searched forward
+	private CompactCityGraph reverse; // Reversed graph searched backward, built on first use
+	private SearchSide forward; // State of the forward search
+	private SearchSide backward; // State of the backward search, created on first use
+	private int settledCount; // Vertices settled by the last query
+
+	/**
+	 * Constructs a search over the given graph.
+	 *
+	 * @param graph the compact city graph
+	 */
+	public PointToPointSearch(CompactCityGraph graph) {
+		this.graph = graph;
+		this.forward = new SearchSide(graph.getNumVertices());
+	}
+
+	/**
+	 * Finds the shortest distance from the origin to the destination, stopping once
+	 * the destination is settled.
+	 *
+	 * @param source the index of the origin vertex
+	 * @param target the index of the destination vertex
+	 * @return the shortest distance, or Integer.MAX_VALUE if the destination is
+	 *         unreachable
+	 */
+	public int distance(int source, int target) {
+		nextQuery();
+		forward.start(source);
+		while (!forward.heap.isEmpty()) {
+			int vertex = forward.settleNext(graph); // Closest unsettled vertex
+			settledCount++;
+			if (vertex == target) {
+				forward.heap.clear(); // Discard the rest of the frontier
+				return forward.distance(target);
+			}
+		}
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Finds the shortest distance from the origin to the destination by searching
+	 * from both ends at once. The search always advances the side with the smaller
+	 * frontier key and stops when the two frontier keys together reach the best
+	 * connection found so far.
+	 *
+	 * @param source the index of the origin vertex
+	 * @param target the index of the destination vertex
+	 * @return the shortest distance, or Integer.MAX_VALUE if the destination is
+	 *         unreachable
+	 */
+	public int bidirectionalDistance(int source, int target) {
+		if (reverse == null) {
+			reverse = graph.reverse(); // Build the reverse adjacency once
+			backward = new SearchSide(graph.getNumVertices());
+		}
+		nextQuery();
+		forward.start(source);
+		backward.start(target);
+		long best = source == target ? 0 : Long.MAX_VALUE; // Length of the best connection found so far
+
+		while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+			long frontier = forward.heap.peekMinKey() + backward.heap.peekMinKey();
+			if (frontier >= best) {
+				break; // No unsettled vertex can give a shorter connection
+			}
+			boolean forwardTurn = forward.heap.peekMinKey() <= backward.heap.peekMinKey();
+			SearchSide side = forwardTurn ? forward : backward;
+			SearchSide other = forwardTurn ? backward : forward;
+			int vertex = side.settleNext(forwardTurn ? graph : reverse);
+			settledCount++;
+			best = Math.min(best, side.bestConnection(forwardTurn ? graph : reverse, vertex, other));
+		}
+		forward.heap.clear();
+		backward.heap.clear();
+		return best == Long.MAX_VALUE ? Integer.MAX_VALUE : (int) best;
+	}
+
+	/**
+	 * Gets the number of vertices settled by the last query, counting both sides of
+	 * a bidirectional query.
+	 *
+	 * @return the number of settled vertices
+	 */
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Starts a new query, invalidating the entries of the previous one.
+	 */
+	private void nextQuery() {
+		settledCount = 0;
+		forward.nextSearch();
+		if (backward != null) {
+			backward.nextSearch();
+		}
+	}
+
+	/**
+	 * SearchSide holds the state of one direction of the search. The marked
+	 * vertices of the scratch are the settled ones.
+	 */
+	private static class SearchSide extends StampedScratch {
+		SearchSide(int numVertices) {
+			super(numVertices, numVertices);
+		}
+
+		/**
+		 * Starts the search at the given vertex.
+		 */
+		void start(int source) {
+			relax(source, 0);
+		}
+
+		/**
+		 * Settles the closest frontier vertex and relaxes its edges.
+		 *
+		 * @return the settled vertex
+		 */
+		int settleNext(CompactCityGraph graph) {
+			int vertex = heap.pollMin();
+			mark(vertex);
+			int base = distances[vertex];
+			for (int e = graph.getEdgeStart(vertex), end = graph.getEdgeEnd(vertex); e < end; e++) {
+				int destination = graph.getTarget(e);
+				if (!isMarked(destination)) {
+					relax(destination, base + graph.getWeight(e));
+				}
+			}
+			return vertex;
+		}
+
+		/**
+		 * Finds the shortest connection through the edges of a just settled vertex
+		 * to any vertex the other side has reached.
+		 *
+		 * @return the length of the shortest connection, or Long.MAX_VALUE if none
+		 */
+		long bestConnection(CompactCityGraph graph, int vertex, SearchSide other) {
+			long best = Long.MAX_VALUE;
+			if (other.isReached(vertex)) {
+				best = (long) distances[vertex] + other.distances[vertex]; // The sides meet at this vertex
+			}
+			for (int e = graph.getEdgeStart(vertex), end = graph.getEdgeEnd(vertex); e < end; e++) {
+				int destination = graph.getTarget(e);
+				if (other.isReached(destination)) {
+					best = Math.min(best, (long) distances[vertex] + graph.getWeight(e) + other.distances[destination]);
+				}
+			}
+			return best;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * RoadNetworkReader class reads whitespace-separated integers from a byte
+ * stream. It is a replacement for Scanner.nextInt when reading large road
+ * files: bytes are pulled through a fixed buffer and digits are accumulated
+ * directly, with no regular expressions and no String per token.
+ */
+public class RoadNetworkReader implements AutoCloseable {
+	private static final int BUFFER_SIZE = 1 << 16; // Bytes read from the stream at a time
+
+	private InputStream in; // Stream being read
+	private byte[] buffer; // Bytes read but not yet consumed
+	private int position; // Index of the next unread byte in the buffer
+	private int limit; // Number of valid bytes in the buffer
+
+	/**
+	 * Constructs a reader over the given stream.
+	 *
+	 * @param in the stream to read from
+	 */
+	public RoadNetworkReader(InputStream in) {
+		this.in = in;
+		this.buffer = new byte[BUFFER_SIZE];
+		this.position = 0;
+		this.limit = 0;
+	}
+
+	/**
+	 * Reads the next integer token.
+	 *
+	 * @return the integer read
+	 * @throws InputMismatchException if the next token is not a valid int
+	 * @throws NoSuchElementException if the input is exhausted
+	 */
+	public int nextInt() {
+		int c = read();
+		while (c != -1 && c <= ' ') {
+			c = read(); // Skip whitespace
+		}
+		if (c == -1) {
+			throw new NoSuchElementException();
+		}
+		boolean negative = c == '-';
+		if (negative || c == '+') {
+			c = read(); // Move past the sign
+		}
+		if (c < '0' || c > '9') {
+			throw new InputMismatchException("Expected an integer");
+		}
+		long value = 0; // Accumulated as negative so Integer.MIN_VALUE fits
+		while (c >= '0' && c <= '9') {
+			value = value * 10 - (c - '0');
+			if (value < Integer.MIN_VALUE) {
+				throw new InputMismatchException("Integer out of range");
+			}
+			c = read();
+		}
+		if (c > ' ') {
+			throw new InputMismatchException("Expected an integer"); // Token continues with a non-digit
+		}
+		if (!negative && value == Integer.MIN_VALUE) {
+			throw new InputMismatchException("Integer out of range");
+		}
+		return (int) (negative ? value : -value);
+	}
+
+	/**
+	 * Closes the underlying stream.
+	 */
+	@Override
+	public void close() {
+		try {
+			in.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads the next byte, refilling the buffer when it is used up.
+	 *
+	 * @return the next byte, or -1 at the end of the input
+	 */
+	private int read() {
+		if (position == limit) {
+			try {
+				limit = in.read(buffer, 0, buffer.length); // Refill the buffer
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			position = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return -1; // End of the input
+			}
+		}
+		return buffer[position++] & 0xFF;
+	}
+}
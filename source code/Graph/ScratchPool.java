@@ -0,0 +1,44 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * ScratchPool class hands out reusable scratch space to the tasks of one
+ * parallel call. A task takes a scratch, uses it and gives it back, so no more
+ * scratches are created than tasks run at the same time. The pool is created
+ * per call and the arrays become garbage when the call returns, instead of
+ * staying attached to the pool threads as they would in a ThreadLocal.
+ *
+ * @param <T> the type of scratch space
+ */
+class ScratchPool<T> {
+	private final ConcurrentLinkedQueue<T> free = new ConcurrentLinkedQueue<>(); // Scratches not in use
+	private final Supplier<T> factory; // Creates a scratch when none is free
+
+	/**
+	 * Constructs an empty pool.
+	 *
+	 * @param factory creates new scratch space when all existing ones are in use
+	 */
+	ScratchPool(Supplier<T> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Takes a free scratch, creating one if none is free.
+	 *
+	 * @return scratch space for the exclusive use of the caller
+	 */
+	T take() {
+		T scratch = free.poll();
+		return scratch != null ? scratch : factory.get();
+	}
+
+	/**
+	 * Gives a scratch back for other tasks to reuse.
+	 *
+	 * @param scratch the scratch space taken earlier
+	 */
+	void give(T scratch) {
+		free.add(scratch);
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ * ShortestPathTree class holds the result of a single Dijkstra search from the
+ * central warehouse. The search is run once when the tree is constructed, and
+ * distance and route lookups for every delivery location are answered from the
+ * cached distance and predecessor arrays.
+ */
+public class ShortestPathTree {
+	private int source; // Index of the central warehouse
+	private int[] distances; // Shortest distance from the source to each vertex
+	private int[] predecessors; // Previous vertex on the shortest route, -1 if none
+
+	/**
+	 * Constructs the shortest path tree of the graph rooted at the given source.
+	 *
+	 * @param graph  the city graph representing warehouses, delivery locations, and
+	 *               roads
+	 * @param source the index of the central warehouse
+	 */
+	public ShortestPathTree(CityGraph graph, int source) {
+		this.source = source; // Remember the root of the tree
+		this.predecessors = new int[graph.getNumVertices()];
+		this.distances = DijkstraAlgorithm.dijkstraHeap(graph, source, predecessors); // Run the search once
+	}
+
+	/**
+	 * Constructs the shortest path tree of a compact graph rooted at the given source.
+	 *
+	 * @param graph  the compact city graph
+	 * @param source the index of the central warehouse
+	 */
+	public ShortestPathTree(CompactCityGraph graph, int source) {
+		this.source = source; // Remember the root of the tree
+		this.predecessors = new int[graph.getNumVertices()];
+		this.distances = DijkstraAlgorithm.dijkstraHeap(graph, source, predecessors); // Run the search once
+	}
+
+	/**
+	 * Gets the index of the vertex the tree is rooted at.
+	 *
+	 * @return the index of the central warehouse
+	 */
+	public int getSource() {
+		return source;
+	}
+
+	/**
+	 * Gets the shortest distance from the source to the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the shortest distance, or Integer.MAX_VALUE if the vertex is unreachable
+	 */
+	public int getDistance(int vertex) {
+		return distances[vertex];
+	}
+
+	/**
+	 * Checks if the specified vertex can be reached from the source.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return true if the vertex is reachable, false otherwise
+	 */
+	public boolean isReachable(int vertex) {
+		return distances[vertex] != Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Gets the previous vertex on the shortest route to the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the predecessor, or -1 for the source and unreachable vertices
+	 */
+	public int getPredecessor(int vertex) {
+		return predecessors[vertex];
+	}
+
+	/**
+	 * Gets the shortest route from the source to the specified vertex in
+	 * O(route length) time.
+	 *
+	 * @param vertex the index of the destination vertex
+	 * @return the vertices on the route starting with the source and ending with
+	 *         the destination, or an empty array if the vertex is unreachable
+	 */
+	public int[] getRoute(int vertex) {
+		if (!isReachable(vertex)) {
+			return new int[0]; // No route exists
+		}
+		int length = 0; // Count the vertices on the route
+		for (int v = vertex; v != -1; v = predecessors[v]) {
+			length++;
+		}
+		int[] route = new int[length];
+		getRoute(vertex, route);
+		return route;
+	}
+
+	/**
+	 * Writes the shortest route from the source to the specified vertex into a
+	 * caller-supplied buffer without allocating. A buffer with one slot per vertex
+	 * is always large enough and can be reused for every lookup.
+	 *
+	 * @param vertex the index of the destination vertex
+	 * @param buffer the array receiving the route, starting with the source
+	 * @return the number of vertices written, or 0 if the vertex is unreachable
+	 * @throws IllegalArgumentException if the route does not fit in the buffer
+	 */
+	public int getRoute(int vertex, int[] buffer) {
+		if (!isReachable(vertex)) {
+			return 0; // No route exists
+		}
+		int length = 0;
+		for (int v = vertex; v != -1; v = predecessors[v]) { // Walk back to the source
+			if (length == buffer.length) {
+				throw new IllegalArgumentException("Route buffer too small: " + buffer.length);
+			}
+			buffer[length++] = v;
+		}
+		for (int i = 0, j = length - 1; i < j; i++, j--) { // Reverse so the route starts at the source
+			int tmp = buffer[i];
+			buffer[i] = buffer[j];
+			buffer[j] = tmp;
+		}
+		return length;
+	}
+}
@@ -0,0 +1,129 @@
+import java.util.Arrays;
+
+/**
+ * StampedScratch class holds the working arrays of a shortest path search that
+ * is run many times over the same graph: the heap, the tentative distances and
+ * an optional second set of marks, such as settled vertices, destinations or
+ * touched cells. Every entry is stamped with the number of the search that
+ * wrote it, so starting a new search clears nothing and a search only costs
+ * time for the entries it touches.
+ *
+ * A scratch is used by one thread at a time; parallel code takes one per task
+ * from a ScratchPool.
+ */
+class StampedScratch {
+	final IndexedMinHeap heap; // Frontier of reached but unsettled vertices
+	final int[] distances; // Tentative distance of each vertex, valid only if reached in this search
+	private final int[] reachedStamp; // Search in which the distance entry was written
+	private final int[] markStamp; // Search in which the entry was marked
+	private int search; // Number of the current search
+
+	/**
+	 * Constructs scratch space without marks.
+	 *
+	 * @param numVertices the number of vertices in the graph
+	 */
+	StampedScratch(int numVertices) {
+		this(numVertices, 0);
+	}
+
+	/**
+	 * Constructs scratch space with the given number of marks.
+	 *
+	 * @param numVertices the number of vertices in the graph
+	 * @param numMarks    the number of entries that can be marked, 0 for none
+	 */
+	StampedScratch(int numVertices, int numMarks) {
+		this.heap = new IndexedMinHeap(numVertices);
+		this.distances = new int[numVertices];
+		this.reachedStamp = new int[numVertices];
+		this.markStamp = new int[numMarks];
+		this.search = 0;
+	}
+
+	/**
+	 * Starts a new search, invalidating every distance and mark of the previous one.
+	 * The heap must be empty.
+	 */
+	void nextSearch() {
+		if (++search == Integer.MAX_VALUE) { // Stamps are about to repeat
+			Arrays.fill(reachedStamp, 0);
+			Arrays.fill(markStamp, 0);
+			search = 1;
+		}
+	}
+
+	/**
+	 * Checks if the current search has reached the specified vertex.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return true if the vertex has a distance in this search
+	 */
+	boolean isReached(int vertex) {
+		return reachedStamp[vertex] == search;
+	}
+
+	/**
+	 * Gets the tentative distance of a vertex in the current search.
+	 *
+	 * @param vertex the index of the vertex
+	 * @return the distance, or Integer.MAX_VALUE if the vertex is not reached
+	 */
+	int distance(int vertex) {
+		return reachedStamp[vertex] == search ? distances[vertex] : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Sets the tentative distance of a vertex in the current search without
+	 * touching the heap.
+	 *
+	 * @param vertex   the index of the vertex
+	 * @param distance the new distance
+	 */
+	void setDistance(int vertex, int distance) {
+		distances[vertex] = distance;
+		reachedStamp[vertex] = search;
+	}
+
+	/**
+	 * Lowers the distance of a vertex and queues it, if the given distance is
+	 * shorter than the one known so far.
+	 *
+	 * @param vertex   the index of the vertex
+	 * @param distance the distance along the route just found
+	 * @return true if the distance was lowered
+	 */
+	boolean relax(int vertex, int distance) {
+		if (reachedStamp[vertex] == search && distance >= distances[vertex]) {
+			return false;
+		}
+		distances[vertex] = distance;
+		reachedStamp[vertex] = search;
+		heap.insertOrDecrease(vertex, distance);
+		return true;
+	}
+
+	/**
+	 * Checks if an entry is marked in the current search.
+	 *
+	 * @param index the index of the entry
+	 * @return true if the entry is marked
+	 */
+	boolean isMarked(int index) {
+		return markStamp[index] == search;
+	}
+
+	/**
+	 * Marks an entry in the current search.
+	 *
+	 * @param index the index of the entry
+	 * @return true if the entry was not marked yet
+	 */
+	boolean mark(int index) {
+		if (markStamp[index] == search) {
+			return false;
+		}
+		markStamp[index] = search;
+		return true;
+	}
+}
@@ -0,0 +1,241 @@
+import java.util.Arrays;
+
+/**
+ * VertexOrdering class renumbers the vertices of a road network so that
+ * locations close together in the network also get close indices. Dijkstra's
+ * algorithm then reads the distances and roads of neighboring locations from
+ * nearby memory instead of jumping around the arrays, which saves cache misses
+ * on large networks whose input order is arbitrary.
+ *
+ * An ordering keeps the mapping in both directions, so results computed on the
+ * renumbered graph can be reported with the original location numbers.
+ */
+public class VertexOrdering {
+	private static final int HILBERT_ORDER = 15; // Bits per coordinate of the Hilbert curve grid, keeps curve positions below 2^30
+
+	private int[] newIds; // New index of each original vertex
+	private int[] originalIds; // Original index of each new vertex
+
+	/**
+	 * Constructs an ordering from the list of original vertices in their new order.
+	 *
+	 * @param order the original indices, listed in the new order
+	 */
+	private VertexOrdering(int[] order) {
+		this.originalIds = order;
+		this.newIds = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			newIds[order[i]] = i;
+		}
+	}
+
+	/**
+	 * Keeps every vertex at its current index.
+	 *
+	 * @param numVertices the number of vertices in the graph
+	 * @return the identity ordering
+	 */
+	public static VertexOrdering identity(int numVertices) {
+		int[] order = new int[numVertices];
+		for (int v = 0; v < numVertices; v++) {
+			order[v] = v;
+		}
+		return new VertexOrdering(order);
+	}
+
+	/**
+	 * Orders the vertices breadth-first, following roads in both directions and
+	 * starting a new search from the lowest unnumbered vertex whenever one runs out.
+	 *
+	 * @param graph the compact city graph
+	 * @return the breadth-first ordering
+	 */
+	public static VertexOrdering breadthFirst(CompactCityGraph graph) {
+		return new VertexOrdering(traverse(graph, graph.reverse(), false));
+	}
+
+	/**
+	 * Orders the vertices with the reverse Cuthill-McKee algorithm: each search
+	 * starts from a vertex of lowest degree, visits neighbors in increasing order of
+	 * degree, and the final order is reversed. This keeps the indices at the two
+	 * ends of every road close together.
+	 *
+	 * @param graph the compact city graph
+	 * @return the reverse Cuthill-McKee ordering
+	 */
+	public static VertexOrdering reverseCuthillMcKee(CompactCityGraph graph) {
+		int[] order = traverse(graph, graph.reverse(), true);
+		for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+			int swap = order[i]; // Reverse the Cuthill-McKee order
+			order[i] = order[j];
+			order[j] = swap;
+		}
+		return new VertexOrdering(order);
+	}
+
+	/**
+	 * Orders the vertices along a Hilbert space-filling curve through their
+	 * coordinates, so locations close on the map get close indices.
+	 *
+	 * @param graph the city graph, with coordinates for every vertex
+	 * @return the Hilbert curve ordering
+	 * @throws IllegalStateException if the graph has no coordinates
+	 */
+	public static VertexOrdering hilbert(CityGraph graph) {
+		if (!graph.hasCoordinates()) {
+			throw new IllegalStateException("Hilbert ordering needs vertex coordinates");
+		}
+		int numVertices = graph.getNumVertices();
+		double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (int v = 0; v < numVertices; v++) {
+			minX = Math.min(minX, graph.getX(v));
+			maxX = Math.max(maxX, graph.getX(v));
+			minY = Math.min(minY, graph.getY(v));
+			maxY = Math.max(maxY, graph.getY(v));
+		}
+		int cells = 1 << HILBERT_ORDER; // Grid cells per side
+		double scaleX = maxX > minX ? (cells - 1) / (maxX - minX) : 0;
+		double scaleY = maxY > minY ? (cells - 1) / (maxY - minY) : 0;
+		long[] keys = new long[numVertices]; // Curve position in the high bits, vertex in the low bits, never negative
+		for (int v = 0; v < numVertices; v++) {
+			int x = (int) ((graph.getX(v) - minX) * scaleX);
+			int y = (int) ((graph.getY(v) - minY) * scaleY);
+			keys[v] = hilbertIndex(x, y) << 32 | v;
+		}
+		Arrays.sort(keys);
+		int[] order = new int[numVertices];
+		for (int i = 0; i < numVertices; i++) {
+			order[i] = (int) keys[i]; // Keep the vertex from the low bits
+		}
+		return new VertexOrdering(order);
+	}
+
+	/**
+	 * Gets the new index of an original vertex.
+	 *
+	 * @param originalId the original index of the vertex
+	 * @return the index of the vertex in the renumbered graph
+	 */
+	public int getNewId(int originalId) {
+		return newIds[originalId];
+	}
+
+	/**
+	 * Gets the original index of a vertex of the renumbered graph.
+	 *
+	 * @param newId the index of the vertex in the renumbered graph
+	 * @return the original index of the vertex
+	 */
+	public int getOriginalId(int newId) {
+		return originalIds[newId];
+	}
+
+	/**
+	 * Builds the renumbered copy of a graph.
+	 *
+	 * @param graph the compact city graph the ordering was computed for
+	 * @return a new compact graph with the vertices renumbered
+	 */
+	public CompactCityGraph apply(CompactCityGraph graph) {
+		return graph.permute(newIds);
+	}
+
+	/**
+	 * Lists the vertices in breadth-first order over the roads in both directions,
+	 * covering every vertex.
+	 *
+	 * @param graph    the compact city graph
+	 * @param reverse  the graph with every road reversed
+	 * @param byDegree true to start from vertices of lowest degree and visit
+	 *                 neighbors in increasing order of degree, as Cuthill-McKee
+	 *                 does
+	 * @return the original indices in visiting order
+	 */
+	private static int[] traverse(CompactCityGraph graph, CompactCityGraph reverse, boolean byDegree) {
+		int numVertices = graph.getNumVertices();
+		int[] degree = new int[numVertices]; // Roads in and out of each vertex
+		for (int v = 0; v < numVertices; v++) {
+			degree[v] = graph.getEdgeEnd(v) - graph.getEdgeStart(v) + reverse.getEdgeEnd(v) - reverse.getEdgeStart(v);
+		}
+		int[] seeds = new int[numVertices]; // Vertices in the order new searches are started from
+		if (byDegree) {
+			long[] keys = new long[numVertices]; // Degree in the high bits, vertex in the low bits
+			for (int v = 0; v < numVertices; v++) {
+				keys[v] = (long) degree[v] << 32 | v;
+			}
+			Arrays.sort(keys);
+			for (int i = 0; i < numVertices; i++) {
+				seeds[i] = (int) keys[i];
+			}
+		} else {
+			for (int v = 0; v < numVertices; v++) {
+				seeds[v] = v;
+			}
+		}
+
+		boolean[] numbered = new boolean[numVertices];
+		int[] order = new int[numVertices]; // Doubles as the search queue
+		long[] neighbors = new long[0]; // Unnumbered neighbors of the current vertex, sorted by degree
+		int tail = 0;
+		for (int seed : seeds) {
+			if (numbered[seed]) {
+				continue;
+			}
+			numbered[seed] = true;
+			int head = tail;
+			order[tail++] = seed;
+			while (head < tail) {
+				int u = order[head++];
+				int count = 0;
+				if (neighbors.length < degree[u]) {
+					neighbors = new long[degree[u]];
+				}
+				for (int side = 0; side < 2; side++) {
+					CompactCityGraph roads = side == 0 ? graph : reverse; // Out-roads, then in-roads
+					for (int e = roads.getEdgeStart(u), end = roads.getEdgeEnd(u); e < end; e++) {
+						int v = roads.getTarget(e);
+						if (!numbered[v]) {
+							numbered[v] = true;
+							neighbors[count++] = byDegree ? (long) degree[v] << 32 | v : v;
+						}
+					}
+				}
+				if (byDegree) {
+					Arrays.sort(neighbors, 0, count);
+				}
+				for (int i = 0; i < count; i++) {
+					order[tail++] = (int) neighbors[i];
+				}
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Computes the position of a grid cell along the Hilbert curve.
+	 *
+	 * @param x the column of the cell
+	 * @param y the row of the cell
+	 * @return the distance of the cell from the start of the curve
+	 */
+	private static long hilbertIndex(int x, int y) {
+		int last = (1 << HILBERT_ORDER) - 1; // Highest column and row
+		long index = 0;
+		for (int s = 1 << (HILBERT_ORDER - 1); s > 0; s >>>= 1) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			index += (long) s * s * ((3 * rx) ^ ry);
+			if (ry == 0) { // Rotate the quadrant so the curve stays continuous
+				if (rx == 1) {
+					x = last - x;
+					y = last - y;
+				}
+				int swap = x;
+				x = y;
+				y = swap;
+			}
+		}
+		return index;
+	}
+}